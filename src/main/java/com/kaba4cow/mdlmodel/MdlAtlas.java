@@ -0,0 +1,86 @@
+package com.kaba4cow.mdlmodel;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a texture atlas built by an {@link MdlAtlasBuilder}. The skins of many {@code MDL} models are packed into a few
+ * pages of palette indices, and the region of each skin provides the texture coordinate transform for its model.
+ */
+public class MdlAtlas {
+
+	private final int pageWidth;
+	private final int pageHeight;
+	private final List<byte[]> pages;
+	private final Map<MdlModel, MdlAtlasRegion[][]> regions;
+
+	MdlAtlas(int pageWidth, int pageHeight, List<byte[]> pages, Map<MdlModel, MdlAtlasRegion[][]> regions) {
+		this.pageWidth = pageWidth;
+		this.pageHeight = pageHeight;
+		this.pages = pages;
+		this.regions = regions;
+	}
+
+	/**
+	 * Gets the region of a skin of a model.
+	 * 
+	 * @param model        the {@link MdlModel} added to the atlas
+	 * @param textureGroup the index of the {@link MdlTextureGroup} in the model
+	 * @param texture      the index of the {@link MdlTexture} in the texture group
+	 * 
+	 * @return the {@link MdlAtlasRegion} of the skin
+	 * 
+	 * @throws IllegalArgumentException if the model was not added to the atlas
+	 */
+	public MdlAtlasRegion getRegion(MdlModel model, int textureGroup, int texture) {
+		MdlAtlasRegion[][] regions = this.regions.get(model);
+		if (regions == null)
+			throw new IllegalArgumentException("Model is not part of the atlas");
+		return regions[textureGroup][texture];
+	}
+
+	/**
+	 * Gets the number of pages.
+	 * 
+	 * @return the number of pages
+	 */
+	public int getNumPages() {
+		return this.pages.size();
+	}
+
+	/**
+	 * Gets the palette indices of a page.
+	 * 
+	 * @param page the index of the page
+	 * 
+	 * @return a byte array containing the palette index for each pixel of the page
+	 */
+	public byte[] getPage(int page) {
+		return this.pages.get(page);
+	}
+
+	/**
+	 * Gets the width of every page.
+	 * 
+	 * @return the page width in pixels
+	 */
+	public int getPageWidth() {
+		return this.pageWidth;
+	}
+
+	/**
+	 * Gets the height of every page.
+	 * 
+	 * @return the page height in pixels
+	 */
+	public int getPageHeight() {
+		return this.pageHeight;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlAtlas [pageWidth=%s, pageHeight=%s, numPages=%s, numModels=%s]", this.pageWidth, this.pageHeight,
+				this.pages.size(), this.regions.size());
+	}
+
+}
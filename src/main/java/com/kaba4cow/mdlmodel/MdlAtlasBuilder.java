@@ -0,0 +1,176 @@
+package com.kaba4cow.mdlmodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds an {@link MdlAtlas} from the skins of many {@code MDL} models, including every frame of animated skins. Skins are
+ * sorted by height and packed onto shelves of fixed-size pages, and each skin is surrounded by a border of replicated edge
+ * pixels so that filtering does not bleed between neighbors. Skins sharing the same index array and dimensions, such as those
+ * deduplicated by an {@link MdlInterner}, are packed only once.
+ */
+public class MdlAtlasBuilder {
+
+	private final int pageWidth;
+	private final int pageHeight;
+	private final int padding;
+	private final List<MdlModel> models;
+
+	/**
+	 * Constructs a new {@code MdlAtlasBuilder}.
+	 * 
+	 * @param pageWidth  the width of each page in pixels
+	 * @param pageHeight the height of each page in pixels
+	 * @param padding    the width of the border of replicated edge pixels around each skin
+	 */
+	public MdlAtlasBuilder(int pageWidth, int pageHeight, int padding) {
+		this.pageWidth = pageWidth;
+		this.pageHeight = pageHeight;
+		this.padding = padding;
+		this.models = new ArrayList<>();
+	}
+
+	/**
+	 * Adds all skins of a model to the atlas.
+	 * 
+	 * @param model the {@link MdlModel} to add
+	 * 
+	 * @throws IllegalArgumentException if the model's skins do not fit on a page
+	 */
+	public void add(MdlModel model) {
+		if (model.getTextureWidth() + 2 * this.padding > this.pageWidth
+				|| model.getTextureHeight() + 2 * this.padding > this.pageHeight)
+			throw new IllegalArgumentException(
+					String.format("Skin does not fit on a page: %sx%s", model.getTextureWidth(), model.getTextureHeight()));
+		this.models.add(model);
+	}
+
+	/**
+	 * Packs the skins of all added models into pages.
+	 * 
+	 * @return the built {@link MdlAtlas}
+	 */
+	public MdlAtlas build() {
+		Set<Skin> unique = new HashSet<>();
+		List<MdlTexture> textures = new ArrayList<>();
+		for (MdlModel model : this.models)
+			for (MdlTextureGroup textureGroup : model.getTextureGroups())
+				for (MdlTexture texture : textureGroup.getTextures())
+					if (unique.add(new Skin(texture)))
+						textures.add(texture);
+		textures.sort((a, b) -> a.getHeight() != b.getHeight() ? Integer.compare(b.getHeight(), a.getHeight())
+				: Integer.compare(b.getWidth(), a.getWidth()));
+
+		List<byte[]> pages = new ArrayList<>();
+		List<Shelf> shelves = new ArrayList<>();
+		int[] pageHeights = new int[0];
+		Map<Skin, MdlAtlasRegion> placed = new HashMap<>();
+		for (MdlTexture texture : textures) {
+			int width = texture.getWidth() + 2 * this.padding;
+			int height = texture.getHeight() + 2 * this.padding;
+			Shelf shelf = null;
+			for (Shelf candidate : shelves)
+				if (candidate.height >= height && candidate.x + width <= this.pageWidth) {
+					shelf = candidate;
+					break;
+				}
+			if (shelf == null) {
+				int page = 0;
+				while (page < pages.size() && pageHeights[page] + height > this.pageHeight)
+					page++;
+				if (page == pages.size()) {
+					pages.add(new byte[this.pageWidth * this.pageHeight]);
+					pageHeights = Arrays.copyOf(pageHeights, pages.size());
+				}
+				shelf = new Shelf(page, pageHeights[page], height);
+				pageHeights[page] += height;
+				shelves.add(shelf);
+			}
+			int x = shelf.x + this.padding;
+			int y = shelf.y + this.padding;
+			shelf.x += width;
+			blit(texture, pages.get(shelf.page), x, y);
+			placed.put(new Skin(texture), new MdlAtlasRegion(shelf.page, x, y, texture.getWidth(), texture.getHeight(),
+					this.pageWidth, this.pageHeight));
+		}
+
+		Map<MdlModel, MdlAtlasRegion[][]> regions = new IdentityHashMap<>();
+		for (MdlModel model : this.models) {
+			MdlTextureGroup[] textureGroups = model.getTextureGroups();
+			MdlAtlasRegion[][] modelRegions = new MdlAtlasRegion[textureGroups.length][];
+			for (int i = 0; i < textureGroups.length; i++) {
+				MdlTexture[] groupTextures = textureGroups[i].getTextures();
+				modelRegions[i] = new MdlAtlasRegion[groupTextures.length];
+				for (int j = 0; j < groupTextures.length; j++)
+					modelRegions[i][j] = placed.get(new Skin(groupTextures[j]));
+			}
+			regions.put(model, modelRegions);
+		}
+		return new MdlAtlas(this.pageWidth, this.pageHeight, pages, regions);
+	}
+
+	private void blit(MdlTexture texture, byte[] page, int x, int y) {
+		byte[] indices = texture.getIndices();
+		int width = texture.getWidth();
+		int height = texture.getHeight();
+		for (int row = -this.padding; row < height + this.padding; row++) {
+			int sourceRow = Math.max(0, Math.min(height - 1, row)) * width;
+			int targetRow = (y + row) * this.pageWidth + x;
+			for (int column = -this.padding; column < width + this.padding; column++)
+				page[targetRow + column] = indices[sourceRow + Math.max(0, Math.min(width - 1, column))];
+		}
+	}
+
+	private static class Skin {
+
+		private final byte[] indices;
+		private final int width;
+		private final int height;
+
+		private Skin(MdlTexture texture) {
+			this.indices = texture.getIndices();
+			this.width = texture.getWidth();
+			this.height = texture.getHeight();
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * System.identityHashCode(this.indices) + this.width) + this.height;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object)
+				return true;
+			if (!(object instanceof Skin))
+				return false;
+			Skin other = (Skin) object;
+			return this.indices == other.indices && this.width == other.width && this.height == other.height;
+		}
+
+	}
+
+	private static class Shelf {
+
+		private final int page;
+		private final int y;
+		private final int height;
+
+		private int x;
+
+		private Shelf(int page, int y, int height) {
+			this.page = page;
+			this.y = y;
+			this.height = height;
+			this.x = 0;
+		}
+
+	}
+
+}
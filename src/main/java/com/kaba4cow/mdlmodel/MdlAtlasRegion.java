@@ -0,0 +1,141 @@
+package com.kaba4cow.mdlmodel;
+
+/**
+ * Represents the placement of a single skin in an {@link MdlAtlas}. Provides the transform from the skin's own texture
+ * coordinates to texture coordinates on the atlas page, taking the back-side offset of seam vertices into account.
+ */
+public class MdlAtlasRegion {
+
+	private final int page;
+	private final int x;
+	private final int y;
+	private final int width;
+	private final int height;
+	private final int pageWidth;
+	private final int pageHeight;
+
+	MdlAtlasRegion(int page, int x, int y, int width, int height, int pageWidth, int pageHeight) {
+		this.page = page;
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+		this.pageWidth = pageWidth;
+		this.pageHeight = pageHeight;
+	}
+
+	/**
+	 * Gets the normalized U coordinate on the atlas page for a texture coordinate of the model. Seam vertices of back-facing
+	 * triangles are shifted by half the skin width, as for the model's own skin.
+	 * 
+	 * @param textureCoord the {@link MdlTextureCoord} of the vertex
+	 * @param front        whether the vertex belongs to a front-facing {@link MdlTriangle}
+	 * 
+	 * @return the U coordinate on the atlas page
+	 */
+	public float getU(MdlTextureCoord textureCoord, boolean front) {
+		int s = textureCoord.getS() + (!front && textureCoord.isSeam() ? this.width / 2 : 0);
+		return (this.x + s + 0.5f) / this.pageWidth;
+	}
+
+	/**
+	 * Gets the normalized V coordinate on the atlas page for a texture coordinate of the model.
+	 * 
+	 * @param textureCoord the {@link MdlTextureCoord} of the vertex
+	 * 
+	 * @return the V coordinate on the atlas page
+	 */
+	public float getV(MdlTextureCoord textureCoord) {
+		return (this.y + textureCoord.getT() + 0.5f) / this.pageHeight;
+	}
+
+	/**
+	 * Gets the scale of the U coordinate, mapping normalized skin coordinates to normalized page coordinates as
+	 * {@code offsetU + scaleU * u}.
+	 * 
+	 * @return the U scale
+	 */
+	public float getScaleU() {
+		return (float) this.width / this.pageWidth;
+	}
+
+	/**
+	 * Gets the scale of the V coordinate, mapping normalized skin coordinates to normalized page coordinates as
+	 * {@code offsetV + scaleV * v}.
+	 * 
+	 * @return the V scale
+	 */
+	public float getScaleV() {
+		return (float) this.height / this.pageHeight;
+	}
+
+	/**
+	 * Gets the offset of the U coordinate on the atlas page.
+	 * 
+	 * @return the U offset
+	 */
+	public float getOffsetU() {
+		return (float) this.x / this.pageWidth;
+	}
+
+	/**
+	 * Gets the offset of the V coordinate on the atlas page.
+	 * 
+	 * @return the V offset
+	 */
+	public float getOffsetV() {
+		return (float) this.y / this.pageHeight;
+	}
+
+	/**
+	 * Gets the index of the atlas page containing the skin.
+	 * 
+	 * @return the page index
+	 */
+	public int getPage() {
+		return this.page;
+	}
+
+	/**
+	 * Gets the X position of the skin on its page.
+	 * 
+	 * @return the X position in pixels
+	 */
+	public int getX() {
+		return this.x;
+	}
+
+	/**
+	 * Gets the Y position of the skin on its page.
+	 * 
+	 * @return the Y position in pixels
+	 */
+	public int getY() {
+		return this.y;
+	}
+
+	/**
+	 * Gets the width of the skin.
+	 * 
+	 * @return the width in pixels
+	 */
+	public int getWidth() {
+		return this.width;
+	}
+
+	/**
+	 * Gets the height of the skin.
+	 * 
+	 * @return the height in pixels
+	 */
+	public int getHeight() {
+		return this.height;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlAtlasRegion [page=%s, x=%s, y=%s, width=%s, height=%s]", this.page, this.x, this.y, this.width,
+				this.height);
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.kaba4cow.mdlmodel;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Converts many {@code MDL} model files concurrently with an {@link MdlExporter}. Each file is converted and written by a
+ * single task of the executor through {@link MdlExporter#export(Path, OutputStream)}, so exporters that stream from the
+ * packed file data hold at most one frame per worker in memory at a time.
+ */
+public class MdlBatchExporter {
+
+	private final MdlExporter exporter;
+	private final ExecutorService executor;
+
+	/**
+	 * Constructs a new {@code MdlBatchExporter}.
+	 * 
+	 * @param exporter the {@link MdlExporter} used to convert each model
+	 * @param executor the {@link ExecutorService} whose workers convert the files
+	 */
+	public MdlBatchExporter(MdlExporter exporter, ExecutorService executor) {
+		this.exporter = exporter;
+		this.executor = executor;
+	}
+
+	/**
+	 * Converts model files into the specified directory. Each output file keeps the path of its input file relative to the
+	 * deepest directory containing all inputs, with the exporter's extension, so files with the same name in different
+	 * directories do not overwrite each other. A failed conversion is reported in its result and does not stop the other
+	 * conversions.
+	 * 
+	 * @param inputs    the {@link Path} of each model file
+	 * @param directory the {@link Path} of the output directory
+	 * 
+	 * @return a list of {@link MdlExportResult} objects in the order of the inputs
+	 * 
+	 * @throws IOException              if the output directory cannot be created
+	 * @throws InterruptedException     if the current thread is interrupted while waiting for the conversions
+	 * @throws IllegalArgumentException if two inputs map to the same output file or the inputs do not share a common root
+	 */
+	public List<MdlExportResult> export(Collection<Path> inputs, Path directory) throws IOException, InterruptedException {
+		List<Path> outputs = getOutputs(inputs, directory);
+		Files.createDirectories(directory);
+		List<Future<MdlExportResult>> futures = new ArrayList<>();
+		int index = 0;
+		for (Path input : inputs) {
+			Path output = outputs.get(index++);
+			futures.add(this.executor.submit(() -> export(input, output)));
+		}
+		List<MdlExportResult> results = new ArrayList<>();
+		try {
+			for (Future<MdlExportResult> future : futures)
+				results.add(future.get());
+		} catch (ExecutionException exception) {
+			throw new IllegalStateException(exception.getCause());
+		} finally {
+			for (Future<MdlExportResult> future : futures)
+				future.cancel(true);
+		}
+		return results;
+	}
+
+	private List<Path> getOutputs(Collection<Path> inputs, Path directory) {
+		Path root = null;
+		for (Path input : inputs) {
+			Path parent = input.toAbsolutePath().normalize().getParent();
+			if (root == null)
+				root = parent;
+			while (root != null && (parent == null || !parent.startsWith(root)))
+				root = root.getParent();
+			if (root == null)
+				throw new IllegalArgumentException(String.format("Input does not share a common root: %s", input));
+		}
+		List<Path> outputs = new ArrayList<>();
+		Set<Path> names = new HashSet<>();
+		for (Path input : inputs) {
+			Path relative = root.relativize(input.toAbsolutePath().normalize());
+			String name = relative.getFileName().toString();
+			int extension = name.lastIndexOf('.');
+			name = (extension < 0 ? name : name.substring(0, extension)) + "." + this.exporter.getExtension();
+			Path output = directory.resolve(relative).resolveSibling(name).normalize();
+			if (!names.add(output))
+				throw new IllegalArgumentException(String.format("Duplicate output file: %s", output));
+			outputs.add(output);
+		}
+		return outputs;
+	}
+
+	private MdlExportResult export(Path input, Path output) {
+		long start = System.nanoTime();
+		long bytesRead = 0L;
+		try {
+			bytesRead = Files.size(input);
+			if (output.getParent() != null)
+				Files.createDirectories(output.getParent());
+			try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(output))) {
+				this.exporter.export(input, stream);
+			}
+			return new MdlExportResult(input, output, bytesRead, Files.size(output), System.nanoTime() - start, null);
+		} catch (IOException | RuntimeException exception) {
+			try {
+				Files.deleteIfExists(output);
+			} catch (IOException deleteException) {
+				exception.addSuppressed(deleteException);
+			}
+			return new MdlExportResult(input, output, bytesRead, 0L, System.nanoTime() - start, exception);
+		}
+	}
+
+	/**
+	 * Gets the exporter used to convert each model.
+	 * 
+	 * @return the {@link MdlExporter}
+	 */
+	public MdlExporter getExporter() {
+		return this.exporter;
+	}
+
+}
@@ -0,0 +1,304 @@
+package com.kaba4cow.mdlmodel;
+
+import java.util.Arrays;
+
+/**
+ * Represents a bounding volume hierarchy over the triangles of an {@code MDL} model for a specific set of vertex positions.
+ * The hierarchy topology depends only on the triangles, so a hierarchy built for one frame can be refitted to the positions
+ * of another frame without being rebuilt.
+ */
+public class MdlBvh {
+
+	private static final int LEAF_SIZE = 4;
+	private static final int STACK_SIZE = 64;
+
+	private final int[] indices;
+	private final int[] order;
+	private final int[] offsets;
+	private final int[] counts;
+	private final int numNodes;
+	private final float[] positions;
+	private final float[] bounds;
+
+	MdlBvh(MdlTriangle[] triangles, float[] positions) {
+		int numTriangles = triangles.length;
+		this.indices = new int[3 * numTriangles];
+		for (int i = 0; i < numTriangles; i++)
+			System.arraycopy(triangles[i].getVertices(), 0, this.indices, 3 * i, 3);
+		this.order = new int[numTriangles];
+		for (int i = 0; i < numTriangles; i++)
+			this.order[i] = i;
+		int maxNodes = Math.max(1, 2 * numTriangles - 1);
+		this.offsets = new int[maxNodes];
+		this.counts = new int[maxNodes];
+		this.positions = positions;
+		this.bounds = new float[6 * maxNodes];
+
+		float[] centroids = new float[3 * numTriangles];
+		for (int i = 0; i < numTriangles; i++)
+			for (int axis = 0; axis < 3; axis++)
+				centroids[3 * i + axis] = (positions[3 * this.indices[3 * i + 0] + axis] + positions[3 * this.indices[3 * i + 1] + axis]
+						+ positions[3 * this.indices[3 * i + 2] + axis]) / 3.0f;
+		this.numNodes = numTriangles == 0 ? 0 : build(0, 1, 0, numTriangles, centroids);
+		refitNodes();
+	}
+
+	private MdlBvh(MdlBvh bvh, float[] positions) {
+		this.indices = bvh.indices;
+		this.order = bvh.order;
+		this.offsets = bvh.offsets;
+		this.counts = bvh.counts;
+		this.numNodes = bvh.numNodes;
+		this.positions = positions;
+		this.bounds = new float[bvh.bounds.length];
+		refitNodes();
+	}
+
+	private int build(int node, int nextNode, int first, int count, float[] centroids) {
+		if (count <= LEAF_SIZE) {
+			this.offsets[node] = first;
+			this.counts[node] = count;
+			return nextNode;
+		}
+		float[] centroidBounds = { Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE,
+				-Float.MAX_VALUE };
+		for (int i = first; i < first + count; i++)
+			for (int axis = 0; axis < 3; axis++) {
+				float centroid = centroids[3 * this.order[i] + axis];
+				centroidBounds[axis] = Math.min(centroidBounds[axis], centroid);
+				centroidBounds[axis + 3] = Math.max(centroidBounds[axis + 3], centroid);
+			}
+		int axis = 0;
+		for (int i = 1; i < 3; i++)
+			if (centroidBounds[i + 3] - centroidBounds[i] > centroidBounds[axis + 3] - centroidBounds[axis])
+				axis = i;
+		float split = 0.5f * (centroidBounds[axis] + centroidBounds[axis + 3]);
+		int middle = partition(first, count, axis, split, centroids);
+		if (middle == first || middle == first + count) {
+			sort(first, count, axis, centroids);
+			middle = first + count / 2;
+		}
+		int left = nextNode;
+		this.offsets[node] = left;
+		this.counts[node] = 0;
+		nextNode = build(left, left + 2, first, middle - first, centroids);
+		return build(left + 1, nextNode, middle, first + count - middle, centroids);
+	}
+
+	private int partition(int first, int count, int axis, float split, float[] centroids) {
+		int i = first;
+		int j = first + count - 1;
+		while (i <= j)
+			if (centroids[3 * this.order[i] + axis] < split)
+				i++;
+			else
+				swap(i, j--);
+		return i;
+	}
+
+	private void sort(int first, int count, int axis, float[] centroids) {
+		for (int i = first + 1; i < first + count; i++)
+			for (int j = i; j > first && centroids[3 * this.order[j] + axis] < centroids[3 * this.order[j - 1] + axis]; j--)
+				swap(j, j - 1);
+	}
+
+	private void swap(int i, int j) {
+		int temp = this.order[i];
+		this.order[i] = this.order[j];
+		this.order[j] = temp;
+	}
+
+	private void refitNodes() {
+		for (int node = this.numNodes - 1; node >= 0; node--) {
+			int base = 6 * node;
+			if (this.counts[node] > 0) {
+				for (int axis = 0; axis < 3; axis++) {
+					this.bounds[base + axis] = Float.MAX_VALUE;
+					this.bounds[base + axis + 3] = -Float.MAX_VALUE;
+				}
+				for (int i = this.offsets[node]; i < this.offsets[node] + this.counts[node]; i++)
+					for (int corner = 0; corner < 3; corner++) {
+						int vertex = 3 * this.indices[3 * this.order[i] + corner];
+						for (int axis = 0; axis < 3; axis++) {
+							this.bounds[base + axis] = Math.min(this.bounds[base + axis], this.positions[vertex + axis]);
+							this.bounds[base + axis + 3] = Math.max(this.bounds[base + axis + 3], this.positions[vertex + axis]);
+						}
+					}
+			} else {
+				int left = 6 * this.offsets[node];
+				int right = left + 6;
+				for (int axis = 0; axis < 3; axis++) {
+					this.bounds[base + axis] = Math.min(this.bounds[left + axis], this.bounds[right + axis]);
+					this.bounds[base + axis + 3] = Math.max(this.bounds[left + axis + 3], this.bounds[right + axis + 3]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a hierarchy with the same topology as this one, refitted to a new set of vertex positions. This is considerably
+	 * cheaper than building a new hierarchy and is intended for interpolated frames of the same model.
+	 * 
+	 * @param positions the x, y, z components of each vertex, as returned by {@link MdlModel#decompress(MdlFrame)}
+	 * 
+	 * @return a new {@link MdlBvh} refitted to the given positions
+	 * 
+	 * @throws IllegalArgumentException if the number of positions does not match the positions of this hierarchy
+	 */
+	public MdlBvh refit(float[] positions) {
+		if (positions.length != this.positions.length)
+			throw new IllegalArgumentException(String.format("Unexpected number of positions: %s", positions.length));
+		return new MdlBvh(this, positions);
+	}
+
+	/**
+	 * Finds the nearest triangle hit by a ray. The ray direction does not have to be normalized; the hit distance is measured
+	 * in units of its length.
+	 * 
+	 * @param origin      the x, y, z components of the ray origin
+	 * @param direction   the x, y, z components of the ray direction
+	 * @param maxDistance the maximum hit distance to consider
+	 * 
+	 * @return the nearest {@link MdlRayHit}, or {@code null} if the ray does not hit any triangle
+	 */
+	public MdlRayHit intersect(float[] origin, float[] direction, float maxDistance) {
+		float[] inverse = { 1.0f / direction[0], 1.0f / direction[1], 1.0f / direction[2] };
+		int[] stack = new int[STACK_SIZE];
+		int size = 0;
+		int hitTriangle = -1;
+		float hitU = 0.0f;
+		float hitV = 0.0f;
+		float hitDistance = maxDistance;
+		float[] result = new float[3];
+		if (this.numNodes > 0 && intersectBounds(0, origin, inverse, hitDistance) < Float.MAX_VALUE)
+			stack[size++] = 0;
+		while (size > 0) {
+			int node = stack[--size];
+			if (this.counts[node] > 0) {
+				for (int i = this.offsets[node]; i < this.offsets[node] + this.counts[node]; i++) {
+					int triangle = this.order[i];
+					if (intersectTriangle(triangle, origin, direction, hitDistance, result)) {
+						hitTriangle = triangle;
+						hitU = result[0];
+						hitV = result[1];
+						hitDistance = result[2];
+					}
+				}
+			} else {
+				int left = this.offsets[node];
+				int right = left + 1;
+				float leftDistance = intersectBounds(left, origin, inverse, hitDistance);
+				float rightDistance = intersectBounds(right, origin, inverse, hitDistance);
+				if (leftDistance > rightDistance) {
+					int temp = left;
+					left = right;
+					right = temp;
+					float tempDistance = leftDistance;
+					leftDistance = rightDistance;
+					rightDistance = tempDistance;
+				}
+				if (size + 2 > stack.length)
+					stack = Arrays.copyOf(stack, 2 * stack.length);
+				if (rightDistance < Float.MAX_VALUE)
+					stack[size++] = right;
+				if (leftDistance < Float.MAX_VALUE)
+					stack[size++] = left;
+			}
+		}
+		return hitTriangle < 0 ? null : new MdlRayHit(hitTriangle, hitU, hitV, hitDistance);
+	}
+
+	/**
+	 * Finds the nearest triangle hit by a ray, without limiting the hit distance.
+	 * 
+	 * @param origin    the x, y, z components of the ray origin
+	 * @param direction the x, y, z components of the ray direction
+	 * 
+	 * @return the nearest {@link MdlRayHit}, or {@code null} if the ray does not hit any triangle
+	 */
+	public MdlRayHit intersect(float[] origin, float[] direction) {
+		return intersect(origin, direction, Float.MAX_VALUE);
+	}
+
+	private float intersectBounds(int node, float[] origin, float[] inverse, float maxDistance) {
+		int base = 6 * node;
+		float near = 0.0f;
+		float far = maxDistance;
+		for (int axis = 0; axis < 3; axis++) {
+			float t0 = (this.bounds[base + axis] - origin[axis]) * inverse[axis];
+			float t1 = (this.bounds[base + axis + 3] - origin[axis]) * inverse[axis];
+			if (t0 > t1) {
+				float temp = t0;
+				t0 = t1;
+				t1 = temp;
+			}
+			near = t0 > near ? t0 : near;
+			far = t1 < far ? t1 : far;
+			if (near > far)
+				return Float.MAX_VALUE;
+		}
+		return near;
+	}
+
+	private boolean intersectTriangle(int triangle, float[] origin, float[] direction, float maxDistance, float[] result) {
+		int a = 3 * this.indices[3 * triangle + 0];
+		int b = 3 * this.indices[3 * triangle + 1];
+		int c = 3 * this.indices[3 * triangle + 2];
+		float e1x = this.positions[b + 0] - this.positions[a + 0];
+		float e1y = this.positions[b + 1] - this.positions[a + 1];
+		float e1z = this.positions[b + 2] - this.positions[a + 2];
+		float e2x = this.positions[c + 0] - this.positions[a + 0];
+		float e2y = this.positions[c + 1] - this.positions[a + 1];
+		float e2z = this.positions[c + 2] - this.positions[a + 2];
+		float px = direction[1] * e2z - direction[2] * e2y;
+		float py = direction[2] * e2x - direction[0] * e2z;
+		float pz = direction[0] * e2y - direction[1] * e2x;
+		float determinant = e1x * px + e1y * py + e1z * pz;
+		if (Math.abs(determinant) < 1e-12f)
+			return false;
+		float inverse = 1.0f / determinant;
+		float tx = origin[0] - this.positions[a + 0];
+		float ty = origin[1] - this.positions[a + 1];
+		float tz = origin[2] - this.positions[a + 2];
+		float u = (tx * px + ty * py + tz * pz) * inverse;
+		if (u < 0.0f || u > 1.0f)
+			return false;
+		float qx = ty * e1z - tz * e1y;
+		float qy = tz * e1x - tx * e1z;
+		float qz = tx * e1y - ty * e1x;
+		float v = (direction[0] * qx + direction[1] * qy + direction[2] * qz) * inverse;
+		if (v < 0.0f || u + v > 1.0f)
+			return false;
+		float distance = (e2x * qx + e2y * qy + e2z * qz) * inverse;
+		if (distance < 0.0f || distance >= maxDistance)
+			return false;
+		result[0] = u;
+		result[1] = v;
+		result[2] = distance;
+		return true;
+	}
+
+	/**
+	 * Gets the vertex positions this hierarchy is fitted to.
+	 * 
+	 * @return a float array containing the x, y, z components of each vertex
+	 */
+	public float[] getPositions() {
+		return this.positions;
+	}
+
+	/**
+	 * Gets the number of nodes in the hierarchy.
+	 * 
+	 * @return the number of nodes
+	 */
+	public int getNumNodes() {
+		return this.numNodes;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlBvh [numTriangles=%s, numNodes=%s]", this.order.length, this.numNodes);
+	}
+
+}
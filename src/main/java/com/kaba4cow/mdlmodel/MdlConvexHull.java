@@ -0,0 +1,115 @@
+package com.kaba4cow.mdlmodel;
+
+/**
+ * Represents the convex hull of the vertices of an {@code MDL} frame. The hull consists of its vertices, its triangular faces
+ * wound counter-clockwise when seen from outside, and the outward plane of each face.
+ */
+public class MdlConvexHull implements MdlConvexShape {
+
+	private final float[] vertices;
+	private final int[] faces;
+	private final float[] planes;
+
+	MdlConvexHull(float[] vertices, int[] faces, float[] planes) {
+		this.vertices = vertices;
+		this.faces = faces;
+		this.planes = planes;
+	}
+
+	@Override
+	public void support(float[] direction, float[] result) {
+		int vertex = getSupportVertex(direction[0], direction[1], direction[2]);
+		result[0] = this.vertices[3 * vertex + 0];
+		result[1] = this.vertices[3 * vertex + 1];
+		result[2] = this.vertices[3 * vertex + 2];
+	}
+
+	/**
+	 * Finds the index of the hull vertex that lies furthest along a direction.
+	 * 
+	 * @param x the x component of the direction
+	 * @param y the y component of the direction
+	 * @param z the z component of the direction
+	 * 
+	 * @return the index of the support vertex, or {@code -1} if the hull has no vertices
+	 */
+	public int getSupportVertex(float x, float y, float z) {
+		int vertex = -1;
+		float distance = Float.NEGATIVE_INFINITY;
+		for (int i = 0; i < this.vertices.length; i += 3) {
+			float current = x * this.vertices[i] + y * this.vertices[i + 1] + z * this.vertices[i + 2];
+			if (current > distance) {
+				distance = current;
+				vertex = i / 3;
+			}
+		}
+		return vertex;
+	}
+
+	/**
+	 * Checks if a point lies inside the hull or on its boundary. Always returns {@code false} for flat hulls without faces.
+	 * 
+	 * @param point the x, y, z components of the point
+	 * 
+	 * @return {@code true} if the point is inside the hull, {@code false} otherwise
+	 */
+	public boolean contains(float[] point) {
+		if (this.planes.length == 0)
+			return false;
+		for (int i = 0; i < this.planes.length; i += 4)
+			if (this.planes[i] * point[0] + this.planes[i + 1] * point[1] + this.planes[i + 2] * point[2] + this.planes[i + 3] > 0.0f)
+				return false;
+		return true;
+	}
+
+	/**
+	 * Gets the number of hull vertices.
+	 * 
+	 * @return the number of vertices
+	 */
+	public int getNumVertices() {
+		return this.vertices.length / 3;
+	}
+
+	/**
+	 * Gets the hull vertices.
+	 * 
+	 * @return a float array containing the x, y, z components of each vertex
+	 */
+	public float[] getVertices() {
+		return this.vertices;
+	}
+
+	/**
+	 * Gets the number of hull faces.
+	 * 
+	 * @return the number of faces
+	 */
+	public int getNumFaces() {
+		return this.faces.length / 3;
+	}
+
+	/**
+	 * Gets the hull faces. Each face is a triangle of three hull vertex indices, wound counter-clockwise when seen from outside.
+	 * 
+	 * @return an int array containing three vertex indices for each face
+	 */
+	public int[] getFaces() {
+		return this.faces;
+	}
+
+	/**
+	 * Gets the outward planes of the hull faces. A point {@code p} lies outside a face if {@code dot(n, p) + d > 0}.
+	 * 
+	 * @return a float array containing the normal x, y, z components and the distance {@code d} of each face
+	 */
+	public float[] getPlanes() {
+		return this.planes;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlConvexHull [vertices=%s, faces=%s]", getNumVertices(), getNumFaces());
+	}
+
+}
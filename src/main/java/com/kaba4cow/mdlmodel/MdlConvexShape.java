@@ -0,0 +1,17 @@
+package com.kaba4cow.mdlmodel;
+
+/**
+ * Represents a convex shape that can be queried through its support function, as required by collision detection algorithms
+ * such as GJK and EPA.
+ */
+public interface MdlConvexShape {
+
+	/**
+	 * Finds the point of the shape that lies furthest along a direction.
+	 * 
+	 * @param direction the x, y, z components of the direction, which does not have to be normalized
+	 * @param result    the array receiving the x, y, z components of the support point
+	 */
+	void support(float[] direction, float[] result);
+
+}
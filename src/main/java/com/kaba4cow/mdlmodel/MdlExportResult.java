@@ -0,0 +1,104 @@
+package com.kaba4cow.mdlmodel;
+
+import java.nio.file.Path;
+
+/**
+ * Represents the outcome of converting a single file in an {@link MdlBatchExporter}.
+ */
+public class MdlExportResult {
+
+	private final Path input;
+	private final Path output;
+	private final long bytesRead;
+	private final long bytesWritten;
+	private final long nanos;
+	private final Exception error;
+
+	MdlExportResult(Path input, Path output, long bytesRead, long bytesWritten, long nanos, Exception error) {
+		this.input = input;
+		this.output = output;
+		this.bytesRead = bytesRead;
+		this.bytesWritten = bytesWritten;
+		this.nanos = nanos;
+		this.error = error;
+	}
+
+	/**
+	 * Gets the path of the converted model file.
+	 * 
+	 * @return the input {@link Path}
+	 */
+	public Path getInput() {
+		return this.input;
+	}
+
+	/**
+	 * Gets the path of the written file.
+	 * 
+	 * @return the output {@link Path}
+	 */
+	public Path getOutput() {
+		return this.output;
+	}
+
+	/**
+	 * Gets the size of the model file.
+	 * 
+	 * @return the number of bytes read
+	 */
+	public long getBytesRead() {
+		return this.bytesRead;
+	}
+
+	/**
+	 * Gets the size of the written file.
+	 * 
+	 * @return the number of bytes written, or {@code 0} if the conversion failed
+	 */
+	public long getBytesWritten() {
+		return this.bytesWritten;
+	}
+
+	/**
+	 * Gets the time spent reading, converting and writing the file.
+	 * 
+	 * @return the elapsed time in nanoseconds
+	 */
+	public long getNanos() {
+		return this.nanos;
+	}
+
+	/**
+	 * Gets the conversion throughput, measured over the size of the model file.
+	 * 
+	 * @return the throughput in bytes per second
+	 */
+	public double getThroughput() {
+		return this.nanos == 0L ? 0.0 : this.bytesRead * 1e9 / this.nanos;
+	}
+
+	/**
+	 * Checks if the file was converted successfully.
+	 * 
+	 * @return {@code true} if the conversion succeeded, {@code false} otherwise
+	 */
+	public boolean isSuccess() {
+		return this.error == null;
+	}
+
+	/**
+	 * Gets the error that caused the conversion to fail.
+	 * 
+	 * @return the {@link Exception}, or {@code null} if the conversion succeeded
+	 */
+	public Exception getError() {
+		return this.error;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlExportResult [input=%s, output=%s, bytesRead=%s, bytesWritten=%s, nanos=%s, error=%s]", this.input,
+				this.output, this.bytesRead, this.bytesWritten, this.nanos, this.error);
+	}
+
+}
@@ -0,0 +1,353 @@
+package com.kaba4cow.mdlmodel;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Provides exporters with random access to the packed data of an {@code MDL} model, either from a parsed {@link MdlModel} or
+ * directly from a memory-mapped model file. Frames are copied one at a time into a caller-supplied buffer of
+ * {@code 4 * numVertices} bytes, in the same x, y, z, normal layout as the file, so an exporter never needs more than a frame
+ * of vertex data in memory.
+ */
+abstract class MdlExportSource {
+
+	abstract float getScale(int axis);
+
+	abstract float getTranslation(int axis);
+
+	abstract int getTextureWidth();
+
+	abstract int getTextureHeight();
+
+	abstract int getNumVertices();
+
+	abstract int getNumTriangles();
+
+	abstract int getNumFrames();
+
+	abstract int getS(int vertex);
+
+	abstract int getT(int vertex);
+
+	abstract boolean isSeam(int vertex);
+
+	abstract boolean isFront(int triangle);
+
+	abstract int getVertex(int triangle, int corner);
+
+	abstract byte[] getSkin();
+
+	abstract String getFrameName(int frame);
+
+	abstract void readFrame(int frame, byte[] packed);
+
+	static MdlExportSource of(MdlModel model) {
+		return new ModelSource(model);
+	}
+
+	static MdlExportSource map(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new FileSource(channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size()));
+		}
+	}
+
+	private static class ModelSource extends MdlExportSource {
+
+		private final MdlModel model;
+		private final float[] scale;
+		private final float[] translation;
+		private final MdlTextureCoord[] textureCoords;
+		private final MdlTriangle[] triangles;
+		private final MdlFrameIndex frameIndex;
+
+		private ModelSource(MdlModel model) {
+			this.model = model;
+			this.scale = new float[] { model.getScale().getX(), model.getScale().getY(), model.getScale().getZ() };
+			this.translation = new float[] { model.getTranslation().getX(), model.getTranslation().getY(),
+					model.getTranslation().getZ() };
+			this.textureCoords = model.getTextureCoords();
+			this.triangles = model.getTriangles();
+			this.frameIndex = model.getFrameIndex();
+		}
+
+		@Override
+		float getScale(int axis) {
+			return this.scale[axis];
+		}
+
+		@Override
+		float getTranslation(int axis) {
+			return this.translation[axis];
+		}
+
+		@Override
+		int getTextureWidth() {
+			return this.model.getTextureWidth();
+		}
+
+		@Override
+		int getTextureHeight() {
+			return this.model.getTextureHeight();
+		}
+
+		@Override
+		int getNumVertices() {
+			return this.model.getNumVertices();
+		}
+
+		@Override
+		int getNumTriangles() {
+			return this.triangles.length;
+		}
+
+		@Override
+		int getNumFrames() {
+			return this.frameIndex.getNumFrames();
+		}
+
+		@Override
+		int getS(int vertex) {
+			return this.textureCoords[vertex].getS();
+		}
+
+		@Override
+		int getT(int vertex) {
+			return this.textureCoords[vertex].getT();
+		}
+
+		@Override
+		boolean isSeam(int vertex) {
+			return this.textureCoords[vertex].isSeam();
+		}
+
+		@Override
+		boolean isFront(int triangle) {
+			return this.triangles[triangle].isFront();
+		}
+
+		@Override
+		int getVertex(int triangle, int corner) {
+			return this.triangles[triangle].getVertices()[corner];
+		}
+
+		@Override
+		byte[] getSkin() {
+			return this.model.getNumTextureGroups() == 0 ? null : this.model.getTextureGroups()[0].getTextures()[0].getIndices();
+		}
+
+		@Override
+		String getFrameName(int frame) {
+			return this.frameIndex.getFrame(frame).getName();
+		}
+
+		@Override
+		void readFrame(int frame, byte[] packed) {
+			MdlVertex[] vertices = this.frameIndex.getFrame(frame).getVertices();
+			for (int i = 0; i < vertices.length; i++) {
+				packed[4 * i + 0] = (byte) vertices[i].getX();
+				packed[4 * i + 1] = (byte) vertices[i].getY();
+				packed[4 * i + 2] = (byte) vertices[i].getZ();
+				packed[4 * i + 3] = (byte) vertices[i].getNormal();
+			}
+		}
+
+	}
+
+	private static class FileSource extends MdlExportSource {
+
+		private static final int HEADER_SIZE = 84;
+		private static final int FRAME_HEADER_SIZE = 24;
+
+		private final ByteBuffer buffer;
+		private final ByteBuffer reader;
+		private final float[] scale;
+		private final float[] translation;
+		private final int textureWidth;
+		private final int textureHeight;
+		private final int numVertices;
+		private final int numTriangles;
+		private final int skinOffset;
+		private final int textureCoordsOffset;
+		private final int trianglesOffset;
+		private final int[] frameOffsets;
+
+		private FileSource(ByteBuffer buffer) throws IOException {
+			this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+			this.reader = buffer.duplicate();
+			require(0, HEADER_SIZE);
+			String identifier = new String(new byte[] { buffer.get(0), buffer.get(1), buffer.get(2), buffer.get(3) },
+					StandardCharsets.ISO_8859_1);
+			if (!"IDPO".equals(identifier))
+				throw new IllegalArgumentException(String.format("Unsupported identifier: %s", identifier));
+			int version = buffer.getInt(4);
+			if (version != 6)
+				throw new IllegalArgumentException(String.format("Unsupported version: %s", version));
+			this.scale = new float[] { buffer.getFloat(8), buffer.getFloat(12), buffer.getFloat(16) };
+			this.translation = new float[] { buffer.getFloat(20), buffer.getFloat(24), buffer.getFloat(28) };
+			int numTextureGroups = readCount(48);
+			this.textureWidth = readCount(52);
+			this.textureHeight = readCount(56);
+			this.numVertices = readCount(60);
+			this.numTriangles = readCount(64);
+			int numFrameGroups = readCount(68);
+
+			int offset = HEADER_SIZE;
+			int skinSize = Math.multiplyExact(this.textureWidth, this.textureHeight);
+			int skinOffset = -1;
+			for (int i = 0; i < numTextureGroups; i++) {
+				require(offset, 4);
+				int numTextures = 1;
+				if (buffer.getInt(offset) == 0)
+					offset += 4;
+				else {
+					require(offset, 8);
+					numTextures = readCount(offset + 4);
+					offset = Math.addExact(offset, Math.addExact(8, Math.multiplyExact(4, numTextures)));
+				}
+				if (skinOffset < 0 && numTextures > 0)
+					skinOffset = offset;
+				offset = require(offset, Math.multiplyExact(numTextures, skinSize));
+			}
+			this.skinOffset = skinOffset;
+			this.textureCoordsOffset = offset;
+			offset = require(offset, Math.multiplyExact(12, this.numVertices));
+			this.trianglesOffset = offset;
+			offset = require(offset, Math.multiplyExact(16, this.numTriangles));
+
+			int frameSize = Math.addExact(FRAME_HEADER_SIZE, Math.multiplyExact(4, this.numVertices));
+			int[] frameOffsets = new int[16];
+			int numFrames = 0;
+			for (int i = 0; i < numFrameGroups; i++) {
+				require(offset, 4);
+				int numGroupFrames = 1;
+				if (buffer.getInt(offset) == 0)
+					offset += 4;
+				else {
+					require(offset, 8);
+					numGroupFrames = readCount(offset + 4);
+					offset = Math.addExact(offset, Math.addExact(16, Math.multiplyExact(4, numGroupFrames)));
+				}
+				for (int j = 0; j < numGroupFrames; j++) {
+					if (numFrames == frameOffsets.length)
+						frameOffsets = Arrays.copyOf(frameOffsets, 2 * numFrames);
+					frameOffsets[numFrames++] = offset;
+					offset = require(offset, frameSize);
+				}
+			}
+			this.frameOffsets = Arrays.copyOf(frameOffsets, numFrames);
+		}
+
+		private int readCount(int offset) {
+			int count = this.buffer.getInt(offset);
+			if (count < 0)
+				throw new IllegalArgumentException(String.format("Unsupported count: %s", count));
+			return count;
+		}
+
+		private int require(int offset, int length) throws EOFException {
+			if (offset > this.buffer.limit() || length > this.buffer.limit() - offset)
+				throw new EOFException(String.format("Unexpected end of file at offset %s", offset));
+			return offset + length;
+		}
+
+		@Override
+		float getScale(int axis) {
+			return this.scale[axis];
+		}
+
+		@Override
+		float getTranslation(int axis) {
+			return this.translation[axis];
+		}
+
+		@Override
+		int getTextureWidth() {
+			return this.textureWidth;
+		}
+
+		@Override
+		int getTextureHeight() {
+			return this.textureHeight;
+		}
+
+		@Override
+		int getNumVertices() {
+			return this.numVertices;
+		}
+
+		@Override
+		int getNumTriangles() {
+			return this.numTriangles;
+		}
+
+		@Override
+		int getNumFrames() {
+			return this.frameOffsets.length;
+		}
+
+		@Override
+		int getS(int vertex) {
+			return this.buffer.getInt(this.textureCoordsOffset + 12 * vertex + 4);
+		}
+
+		@Override
+		int getT(int vertex) {
+			return this.buffer.getInt(this.textureCoordsOffset + 12 * vertex + 8);
+		}
+
+		@Override
+		boolean isSeam(int vertex) {
+			return this.buffer.getInt(this.textureCoordsOffset + 12 * vertex) != 0;
+		}
+
+		@Override
+		boolean isFront(int triangle) {
+			return this.buffer.getInt(this.trianglesOffset + 16 * triangle) != 0;
+		}
+
+		@Override
+		int getVertex(int triangle, int corner) {
+			int vertex = this.buffer.getInt(this.trianglesOffset + 16 * triangle + 4 + 4 * corner);
+			if (vertex < 0 || vertex >= this.numVertices)
+				throw new IllegalArgumentException(String.format("Unsupported vertex index: %s", vertex));
+			return vertex;
+		}
+
+		@Override
+		byte[] getSkin() {
+			if (this.skinOffset < 0)
+				return null;
+			byte[] skin = new byte[this.textureWidth * this.textureHeight];
+			this.reader.position(this.skinOffset);
+			this.reader.get(skin);
+			return skin;
+		}
+
+		@Override
+		String getFrameName(int frame) {
+			int offset = this.frameOffsets[frame] + 8;
+			int length = 0;
+			while (length < 16 && this.buffer.get(offset + length) != 0)
+				length++;
+			byte[] name = new byte[length];
+			this.reader.position(offset);
+			this.reader.get(name);
+			return new String(name, StandardCharsets.ISO_8859_1);
+		}
+
+		@Override
+		void readFrame(int frame, byte[] packed) {
+			this.reader.position(this.frameOffsets[frame] + FRAME_HEADER_SIZE);
+			this.reader.get(packed, 0, 4 * this.numVertices);
+		}
+
+	}
+
+}
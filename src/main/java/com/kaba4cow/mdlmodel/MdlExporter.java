@@ -0,0 +1,48 @@
+package com.kaba4cow.mdlmodel;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Represents an exporter that converts an {@code MDL} model to another file format.
+ */
+public interface MdlExporter {
+
+	/**
+	 * Writes a model to an output stream in the exporter's format.
+	 * 
+	 * @param model  the {@link MdlModel} to export
+	 * @param output the {@link OutputStream} to write to
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 */
+	void export(MdlModel model, OutputStream output) throws IOException;
+
+	/**
+	 * Converts a model file to the exporter's format. The default implementation reads the file into an {@link MdlModel};
+	 * exporters that can convert the packed file data directly override it to avoid building the model.
+	 * 
+	 * @param input  the {@link Path} of the model file
+	 * @param output the {@link OutputStream} to write to
+	 * 
+	 * @throws IOException              if an I/O error occurs
+	 * @throws IllegalArgumentException if the file is not a supported {@code MDL} model
+	 */
+	default void export(Path input, OutputStream output) throws IOException {
+		try (InputStream stream = new BufferedInputStream(Files.newInputStream(input))) {
+			export(new MdlModel(stream), output);
+		}
+	}
+
+	/**
+	 * Gets the file extension of the exporter's format, without the leading dot.
+	 * 
+	 * @return the file extension
+	 */
+	String getExtension();
+
+}
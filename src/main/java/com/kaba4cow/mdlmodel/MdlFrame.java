@@ -1,10 +1,9 @@
 package com.kaba4cow.mdlmodel;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
-import com.kaba4cow.binprocessor.io.BinaryReader;
-
 /**
  * Represents a single frame of animation in an {@code MDL} model. Each frame contains a bounding box (min/max vertices), a
  * name, and an array of vertices defining the model's geometry for this frame.
@@ -14,15 +13,19 @@ public class MdlFrame {
 	private final MdlVertex min;
 	private final MdlVertex max;
 	private final String name;
+	private final byte[] nameBytes;
 	private final MdlVertex[] vertices;
 
-	MdlFrame(int numVertices, BinaryReader reader) throws IOException {
+	MdlFrame(int numVertices, MdlReader reader, MdlInterner interner) throws IOException {
 		this.min = new MdlVertex(reader);
 		this.max = new MdlVertex(reader);
-		this.name = reader.readStringFixed(16).split("\0")[0];
-		this.vertices = new MdlVertex[numVertices];
-		for (int i = 0; i < numVertices; i++)
-			this.vertices[i] = new MdlVertex(reader);
+		this.nameBytes = reader.readByteArray(16);
+		int length = 0;
+		while (length < this.nameBytes.length && this.nameBytes[length] != 0)
+			length++;
+		this.name = new String(this.nameBytes, 0, length, StandardCharsets.ISO_8859_1).intern();
+		byte[] packed = reader.readByteArray(4 * numVertices);
+		this.vertices = interner == null ? MdlVertex.decode(packed) : interner.internVertices(packed);
 	}
 
 	/**
@@ -52,6 +55,10 @@ public class MdlFrame {
 		return this.name;
 	}
 
+	byte[] getNameBytes() {
+		return this.nameBytes;
+	}
+
 	/**
 	 * Gets the array of vertices that define this frame's geometry.
 	 * 
@@ -0,0 +1,188 @@
+package com.kaba4cow.mdlmodel;
+
+/**
+ * Represents the frames of an {@code MDL} frame group in a structure-of-arrays layout. All frames of the group are decompressed
+ * into one contiguous float block, where each frame consists of six lanes of {@code numVertices} values: the x, y and z
+ * components of the vertex positions followed by the x, y and z components of the vertex normals. Interpolating between two
+ * frames is then a single linear pass over two contiguous ranges. On Java 17 and newer, with the {@code jdk.incubator.vector}
+ * module resolvable at runtime, the pass uses the Vector API; otherwise it is a scalar loop.
+ */
+public class MdlFrameBlock {
+
+	/**
+	 * The number of lanes in each frame.
+	 */
+	public static final int NUM_LANES = 6;
+
+	/**
+	 * The lane of the x components of the vertex positions.
+	 */
+	public static final int LANE_X = 0;
+
+	/**
+	 * The lane of the y components of the vertex positions.
+	 */
+	public static final int LANE_Y = 1;
+
+	/**
+	 * The lane of the z components of the vertex positions.
+	 */
+	public static final int LANE_Z = 2;
+
+	/**
+	 * The lane of the x components of the vertex normals.
+	 */
+	public static final int LANE_NORMAL_X = 3;
+
+	/**
+	 * The lane of the y components of the vertex normals.
+	 */
+	public static final int LANE_NORMAL_Y = 4;
+
+	/**
+	 * The lane of the z components of the vertex normals.
+	 */
+	public static final int LANE_NORMAL_Z = 5;
+
+	private final int numVertices;
+	private final int numFrames;
+	private final float[] data;
+
+	/**
+	 * Constructs a new {@code MdlFrameBlock} by decompressing all frames of a frame group.
+	 * 
+	 * @param model      the {@link MdlModel} containing the frame group
+	 * @param frameGroup the index of the {@link MdlFrameGroup} in the model
+	 */
+	public MdlFrameBlock(MdlModel model, int frameGroup) {
+		MdlFrame[] frames = model.getFrameGroups()[frameGroup].getFrames();
+		MdlVector scale = model.getScale();
+		MdlVector translation = model.getTranslation();
+		this.numVertices = model.getNumVertices();
+		this.numFrames = frames.length;
+		this.data = new float[NUM_LANES * this.numVertices * this.numFrames];
+		for (int frame = 0; frame < this.numFrames; frame++) {
+			MdlVertex[] vertices = frames[frame].getVertices();
+			int x = getOffset(frame, LANE_X);
+			int y = getOffset(frame, LANE_Y);
+			int z = getOffset(frame, LANE_Z);
+			int normalX = getOffset(frame, LANE_NORMAL_X);
+			int normalY = getOffset(frame, LANE_NORMAL_Y);
+			int normalZ = getOffset(frame, LANE_NORMAL_Z);
+			for (int i = 0; i < this.numVertices; i++) {
+				MdlVertex vertex = vertices[i];
+				float[] normal = MdlNormals.getNormal(vertex.getNormal());
+				this.data[x + i] = scale.getX() * vertex.getX() + translation.getX();
+				this.data[y + i] = scale.getY() * vertex.getY() + translation.getY();
+				this.data[z + i] = scale.getZ() * vertex.getZ() + translation.getZ();
+				this.data[normalX + i] = normal[0];
+				this.data[normalY + i] = normal[1];
+				this.data[normalZ + i] = normal[2];
+			}
+		}
+	}
+
+	/**
+	 * Interpolates between two frames of this block. The output receives all six lanes in the same layout as a frame of the
+	 * block; normals are interpolated linearly and are not renormalized.
+	 * 
+	 * @param from   the index of the frame at blend factor {@code 0}
+	 * @param to     the index of the frame at blend factor {@code 1}
+	 * @param factor the blend factor between the two frames
+	 * @param output the array receiving {@code NUM_LANES * numVertices} interpolated values
+	 * @param offset the index in the output array of the first interpolated value
+	 */
+	public void interpolate(int from, int to, float factor, float[] output, int offset) {
+		interpolate(this, from, this, to, factor, output, offset);
+	}
+
+	/**
+	 * Interpolates between two frames of this block into the beginning of an output array.
+	 * 
+	 * @param from   the index of the frame at blend factor {@code 0}
+	 * @param to     the index of the frame at blend factor {@code 1}
+	 * @param factor the blend factor between the two frames
+	 * @param output the array receiving {@code NUM_LANES * numVertices} interpolated values
+	 */
+	public void interpolate(int from, int to, float factor, float[] output) {
+		interpolate(this, from, this, to, factor, output, 0);
+	}
+
+	/**
+	 * Interpolates between frames of two blocks of the same model, for transitions between frame groups.
+	 * 
+	 * @param fromBlock the {@link MdlFrameBlock} containing the frame at blend factor {@code 0}
+	 * @param from      the index of the frame in the first block
+	 * @param toBlock   the {@link MdlFrameBlock} containing the frame at blend factor {@code 1}
+	 * @param to        the index of the frame in the second block
+	 * @param factor    the blend factor between the two frames
+	 * @param output    the array receiving {@code NUM_LANES * numVertices} interpolated values
+	 * @param offset    the index in the output array of the first interpolated value
+	 * 
+	 * @throws IllegalArgumentException if the blocks have different numbers of vertices
+	 */
+	public static void interpolate(MdlFrameBlock fromBlock, int from, MdlFrameBlock toBlock, int to, float factor, float[] output,
+			int offset) {
+		if (fromBlock.numVertices != toBlock.numVertices)
+			throw new IllegalArgumentException(
+					String.format("Mismatched number of vertices: %s and %s", fromBlock.numVertices, toBlock.numVertices));
+		int length = NUM_LANES * fromBlock.numVertices;
+		MdlFrameKernel.interpolate(fromBlock.data, from * length, toBlock.data, to * length, factor, output, offset, length);
+	}
+
+	/**
+	 * Checks whether interpolation uses the {@code jdk.incubator.vector} API. This requires Java 17 or newer and the
+	 * {@code jdk.incubator.vector} module to be resolvable at runtime, for example with
+	 * {@code --add-modules jdk.incubator.vector}; otherwise a scalar loop is used.
+	 * 
+	 * @return {@code true} if interpolation is vectorized with the Vector API
+	 */
+	public static boolean isVectorized() {
+		return MdlFrameKernel.isVectorized();
+	}
+
+	/**
+	 * Gets the index in the data block of the first value of a lane of a frame.
+	 * 
+	 * @param frame the index of the frame
+	 * @param lane  the index of the lane
+	 * 
+	 * @return the offset in the array returned by {@link #getData()}
+	 */
+	public int getOffset(int frame, int lane) {
+		return (NUM_LANES * frame + lane) * this.numVertices;
+	}
+
+	/**
+	 * Gets the number of vertices in each frame.
+	 * 
+	 * @return the number of vertices
+	 */
+	public int getNumVertices() {
+		return this.numVertices;
+	}
+
+	/**
+	 * Gets the number of frames in the block.
+	 * 
+	 * @return the number of frames
+	 */
+	public int getNumFrames() {
+		return this.numFrames;
+	}
+
+	/**
+	 * Gets the contiguous data block containing all lanes of all frames.
+	 * 
+	 * @return the data block
+	 */
+	public float[] getData() {
+		return this.data;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlFrameBlock [numVertices=%s, numFrames=%s]", this.numVertices, this.numFrames);
+	}
+
+}
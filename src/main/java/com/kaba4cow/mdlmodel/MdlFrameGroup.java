@@ -3,24 +3,24 @@ package com.kaba4cow.mdlmodel;
 import java.io.IOException;
 import java.util.Arrays;
 
-import com.kaba4cow.binprocessor.io.BinaryReader;
-
 /**
  * Represents a group of animation frames in an {@code MDL} model. A frame group can either be a single frame or multiple frames
  * with associated timing information.
  */
 public class MdlFrameGroup {
 
+	private final int type;
 	private final MdlVertex min;
 	private final MdlVertex max;
 	private final MdlFrame[] frames;
 	private final float[] times;
 
-	MdlFrameGroup(int numVertices, BinaryReader reader) throws IOException {
-		if (reader.readInt() == 0) {
+	MdlFrameGroup(int numVertices, MdlReader reader, MdlInterner interner) throws IOException {
+		this.type = reader.readInt();
+		if (this.type == 0) {
 			this.min = null;
 			this.max = null;
-			this.frames = new MdlFrame[] { new MdlFrame(numVertices, reader) };
+			this.frames = new MdlFrame[] { new MdlFrame(numVertices, reader, interner) };
 			this.times = new float[] { 0.0f };
 		} else {
 			int numFrames = reader.readInt();
@@ -29,7 +29,7 @@ public class MdlFrameGroup {
 			this.frames = new MdlFrame[numFrames];
 			this.times = reader.readFloatArray(numFrames);
 			for (int i = 0; i < numFrames; i++)
-				this.frames[i] = new MdlFrame(numVertices, reader);
+				this.frames[i] = new MdlFrame(numVertices, reader, interner);
 		}
 	}
 
@@ -69,6 +69,10 @@ public class MdlFrameGroup {
 		return this.times;
 	}
 
+	int getType() {
+		return this.type;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("MdlFrameGroup [min=%s, max=%s, frames=%s, times=%s]", this.min, this.max, Arrays.toString(this.frames),
@@ -0,0 +1,129 @@
+package com.kaba4cow.mdlmodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a name index over the frames of an {@code MDL} model. Frames of all frame groups are numbered consecutively,
+ * and consecutive frames sharing a name prefix are grouped into {@link MdlSequence} objects that can be looked up by name in
+ * constant time.
+ */
+public class MdlFrameIndex {
+
+	private final MdlFrame[] frames;
+	private final int[] frameGroups;
+	private final Map<String, Integer> frameIndices;
+	private final MdlSequence[] sequences;
+	private final Map<String, MdlSequence> sequenceIndices;
+
+	MdlFrameIndex(MdlFrameGroup[] frameGroups) {
+		int numFrames = 0;
+		for (MdlFrameGroup frameGroup : frameGroups)
+			numFrames += frameGroup.getFrames().length;
+		this.frames = new MdlFrame[numFrames];
+		this.frameGroups = new int[numFrames];
+		this.frameIndices = new HashMap<>();
+		int index = 0;
+		for (int i = 0; i < frameGroups.length; i++)
+			for (MdlFrame frame : frameGroups[i].getFrames()) {
+				this.frames[index] = frame;
+				this.frameGroups[index] = i;
+				this.frameIndices.putIfAbsent(frame.getName(), index);
+				index++;
+			}
+
+		List<MdlSequence> sequences = new ArrayList<>();
+		this.sequenceIndices = new HashMap<>();
+		int first = 0;
+		for (int i = 1; i <= numFrames; i++) {
+			String prefix = getPrefix(this.frames[first].getName());
+			if (i == numFrames || !prefix.equals(getPrefix(this.frames[i].getName()))) {
+				MdlSequence sequence = new MdlSequence(prefix.intern(), first, i - first);
+				sequences.add(sequence);
+				this.sequenceIndices.putIfAbsent(sequence.getName(), sequence);
+				first = i;
+			}
+		}
+		this.sequences = sequences.toArray(new MdlSequence[0]);
+	}
+
+	private static String getPrefix(String name) {
+		int end = name.length();
+		while (end > 0 && Character.isDigit(name.charAt(end - 1)))
+			end--;
+		return end == 0 ? name : name.substring(0, end);
+	}
+
+	/**
+	 * Gets the total number of frames in all frame groups.
+	 * 
+	 * @return the number of frames
+	 */
+	public int getNumFrames() {
+		return this.frames.length;
+	}
+
+	/**
+	 * Gets a frame by its index.
+	 * 
+	 * @param index the index of the frame
+	 * 
+	 * @return the {@link MdlFrame} at the specified index
+	 */
+	public MdlFrame getFrame(int index) {
+		return this.frames[index];
+	}
+
+	/**
+	 * Gets the index of the frame group containing a frame.
+	 * 
+	 * @param index the index of the frame
+	 * 
+	 * @return the index of the {@link MdlFrameGroup} in the model
+	 */
+	public int getFrameGroup(int index) {
+		return this.frameGroups[index];
+	}
+
+	/**
+	 * Gets the index of the first frame with the specified name.
+	 * 
+	 * @param name the name of the frame
+	 * 
+	 * @return the frame index, or {@code -1} if no frame has this name
+	 */
+	public int getFrameIndex(String name) {
+		Integer index = this.frameIndices.get(name);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Gets the sequence with the specified name. If several non-adjacent runs of frames share the same name, the first one is
+	 * returned.
+	 * 
+	 * @param name the name of the sequence
+	 * 
+	 * @return the {@link MdlSequence}, or {@code null} if no sequence has this name
+	 */
+	public MdlSequence getSequence(String name) {
+		return this.sequenceIndices.get(name);
+	}
+
+	/**
+	 * Gets all sequences in frame order.
+	 * 
+	 * @return an array of {@link MdlSequence} objects
+	 */
+	public MdlSequence[] getSequences() {
+		return this.sequences;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlFrameIndex [numFrames=%s, sequences=%s]", this.frames.length, Arrays.toString(this.sequences));
+	}
+
+}
@@ -0,0 +1,24 @@
+package com.kaba4cow.mdlmodel;
+
+/**
+ * Linearly interpolates between two contiguous ranges of frame data with a scalar loop. The multi-release jar replaces this
+ * class on Java 17 and newer with a version that uses the {@code jdk.incubator.vector} API when that module is resolvable at
+ * runtime.
+ */
+class MdlFrameKernel {
+
+	private MdlFrameKernel() {}
+
+	static boolean isVectorized() {
+		return false;
+	}
+
+	static void interpolate(float[] a, int aOffset, float[] b, int bOffset, float factor, float[] output, int offset,
+			int length) {
+		for (int i = 0; i < length; i++) {
+			float value = a[aOffset + i];
+			output[offset + i] = value + factor * (b[bOffset + i] - value);
+		}
+	}
+
+}
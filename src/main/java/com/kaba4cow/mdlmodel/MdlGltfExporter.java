@@ -0,0 +1,391 @@
+package com.kaba4cow.mdlmodel;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Exports {@code MDL} models to binary glTF ({@code .glb}) files. The first frame becomes the base mesh and every other frame
+ * becomes a morph target, while the first skin is expanded through an {@link MdlPalette} and embedded as a PNG image. Vertices
+ * on texture seams are split for back-facing triangles, and triangles are rewound from the clockwise front faces of Quake to
+ * the counter-clockwise front faces of glTF. Accessor bounds are found in a first pass over the packed frames, after which the
+ * JSON chunk is written and the binary chunk is streamed one frame at a time through a fixed-size buffer, so memory use is
+ * bounded by a single frame regardless of the number of frames.
+ */
+public class MdlGltfExporter implements MdlExporter {
+
+	private static final int MAGIC = 0x46546C67;
+	private static final int VERSION = 2;
+	private static final int CHUNK_JSON = 0x4E4F534A;
+	private static final int CHUNK_BIN = 0x004E4942;
+
+	private static final int ARRAY_BUFFER = 34962;
+	private static final int ELEMENT_ARRAY_BUFFER = 34963;
+	private static final int UNSIGNED_SHORT = 5123;
+	private static final int UNSIGNED_INT = 5125;
+	private static final int FLOAT = 5126;
+	private static final int NEAREST = 9728;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int[] AXES = { 1, 2, 0 };
+
+	private final MdlPalette palette;
+
+	/**
+	 * Constructs a new {@code MdlGltfExporter}.
+	 * 
+	 * @param palette the {@link MdlPalette} used to expand the skin, or {@code null} to export geometry only
+	 */
+	public MdlGltfExporter(MdlPalette palette) {
+		this.palette = palette;
+	}
+
+	@Override
+	public void export(MdlModel model, OutputStream output) throws IOException {
+		export(MdlExportSource.of(model), output);
+	}
+
+	/**
+	 * Converts a model file to binary glTF directly from the memory-mapped file, without building an {@link MdlModel}.
+	 * 
+	 * @param input  the {@link Path} of the model file
+	 * @param output the {@link OutputStream} to write to
+	 * 
+	 * @throws IOException              if an I/O error occurs or the file is truncated
+	 * @throws IllegalArgumentException if the file is not a supported {@code MDL} model
+	 */
+	@Override
+	public void export(Path input, OutputStream output) throws IOException {
+		export(MdlExportSource.map(input), output);
+	}
+
+	private void export(MdlExportSource source, OutputStream output) throws IOException {
+		int numVertices = source.getNumVertices();
+		int numTriangles = source.getNumTriangles();
+		int numFrames = source.getNumFrames();
+		if (numFrames == 0)
+			throw new IllegalArgumentException(String.format("Unsupported number of frames: %s", numFrames));
+
+		int[] frontIndices = new int[numVertices];
+		int[] backIndices = new int[numVertices];
+		Arrays.fill(frontIndices, -1);
+		Arrays.fill(backIndices, -1);
+		int[] sources = new int[2 * numVertices];
+		boolean[] backs = new boolean[2 * numVertices];
+		int count = 0;
+		for (int triangle = 0; triangle < numTriangles; triangle++)
+			for (int corner = 0; corner < 3; corner++) {
+				int vertex = source.getVertex(triangle, corner);
+				boolean back = !source.isFront(triangle) && source.isSeam(vertex);
+				int[] indices = back ? backIndices : frontIndices;
+				if (indices[vertex] < 0) {
+					indices[vertex] = count;
+					sources[count] = vertex;
+					backs[count] = back;
+					count++;
+				}
+			}
+
+		int numTargets = numFrames - 1;
+		boolean shortIndices = count <= 0xFFFF;
+		int width = source.getTextureWidth();
+		int height = source.getTextureHeight();
+		byte[] skin = this.palette == null ? null : source.getSkin();
+		byte[] image = skin == null ? null : encodeImage(skin, width, height);
+
+		byte[] base = new byte[4 * numVertices];
+		byte[] packed = new byte[4 * numVertices];
+		int[] ranges = new int[6 * numFrames];
+		source.readFrame(0, base);
+		findRanges(base, null, sources, count, ranges, 0);
+		for (int frame = 1; frame < numFrames; frame++) {
+			source.readFrame(frame, packed);
+			findRanges(packed, base, sources, count, ranges, 6 * frame);
+		}
+
+		int indicesSize = 3 * numTriangles * (shortIndices ? 2 : 4);
+		int indicesLength = align(indicesSize);
+		int vectorsLength = 12 * count;
+		int textureCoordsLength = 8 * count;
+		int imageLength = image == null ? 0 : align(image.length);
+		int binLength = indicesLength + 2 * vectorsLength + textureCoordsLength + 2 * numTargets * vectorsLength + imageLength;
+
+		Json json = new Json();
+		json.append("{\"asset\":{\"version\":\"2.0\",\"generator\":\"mdl-model\"},\"scene\":0,\"scenes\":[{\"nodes\":[0]}],");
+		json.append("\"nodes\":[{\"mesh\":0}],");
+		Json views = new Json();
+		Json accessors = new Json();
+		int offset = 0;
+		addView(views, offset, indicesLength, ELEMENT_ARRAY_BUFFER);
+		addAccessor(accessors, 0, shortIndices ? UNSIGNED_SHORT : UNSIGNED_INT, 3 * numTriangles, "SCALAR", null);
+		offset += indicesLength;
+		addView(views, offset, vectorsLength, ARRAY_BUFFER);
+		addAccessor(accessors, 1, FLOAT, count, "VEC3", getBounds(source, ranges, 0, true));
+		offset += vectorsLength;
+		addView(views, offset, vectorsLength, ARRAY_BUFFER);
+		addAccessor(accessors, 2, FLOAT, count, "VEC3", null);
+		offset += vectorsLength;
+		addView(views, offset, textureCoordsLength, ARRAY_BUFFER);
+		addAccessor(accessors, 3, FLOAT, count, "VEC2", null);
+		offset += textureCoordsLength;
+
+		Json targets = new Json();
+		Json weights = new Json();
+		Json names = new Json();
+		for (int target = 0; target < numTargets; target++) {
+			int positionAccessor = 4 + 2 * target;
+			addView(views, offset, vectorsLength, ARRAY_BUFFER);
+			addAccessor(accessors, positionAccessor, FLOAT, count, "VEC3", getBounds(source, ranges, target + 1, false));
+			offset += vectorsLength;
+			addView(views, offset, vectorsLength, ARRAY_BUFFER);
+			addAccessor(accessors, positionAccessor + 1, FLOAT, count, "VEC3", null);
+			offset += vectorsLength;
+			targets.separate().append("{\"POSITION\":").append(positionAccessor).append(",\"NORMAL\":").append(positionAccessor + 1)
+					.append("}");
+			weights.separate().append(0);
+			names.separate().string(source.getFrameName(target + 1));
+		}
+
+		json.append("\"meshes\":[{\"primitives\":[{\"attributes\":{\"POSITION\":1,\"NORMAL\":2,\"TEXCOORD_0\":3},\"indices\":0,");
+		json.append("\"material\":0,\"mode\":4");
+		if (numTargets > 0)
+			json.append(",\"targets\":[").append(targets).append("]");
+		json.append("}]");
+		if (numTargets > 0)
+			json.append(",\"weights\":[").append(weights).append("],\"extras\":{\"targetNames\":[").append(names).append("]}");
+		json.append("}],");
+
+		if (image == null)
+			json.append("\"materials\":[{\"pbrMetallicRoughness\":{\"metallicFactor\":0}}],");
+		else {
+			addView(views, offset, image.length, 0);
+			json.append("\"materials\":[{\"pbrMetallicRoughness\":{\"baseColorTexture\":{\"index\":0},\"metallicFactor\":0}}],");
+			json.append("\"textures\":[{\"sampler\":0,\"source\":0}],");
+			json.append("\"samplers\":[{\"magFilter\":").append(NEAREST).append(",\"minFilter\":").append(NEAREST).append("}],");
+			json.append("\"images\":[{\"bufferView\":").append(2 * numTargets + 4).append(",\"mimeType\":\"image/png\"}],");
+		}
+		json.append("\"buffers\":[{\"byteLength\":").append(binLength).append("}],");
+		json.append("\"bufferViews\":[").append(views).append("],");
+		json.append("\"accessors\":[").append(accessors).append("]}");
+
+		byte[] jsonBytes = json.toString().getBytes(StandardCharsets.UTF_8);
+		int jsonLength = align(jsonBytes.length);
+		BinaryOutput bin = new BinaryOutput(output);
+		bin.putInt(MAGIC);
+		bin.putInt(VERSION);
+		bin.putInt(12 + 8 + jsonLength + 8 + binLength);
+		bin.putInt(jsonLength);
+		bin.putInt(CHUNK_JSON);
+		bin.put(jsonBytes);
+		bin.pad(jsonLength - jsonBytes.length, (byte) ' ');
+		bin.putInt(binLength);
+		bin.putInt(CHUNK_BIN);
+
+		for (int triangle = 0; triangle < numTriangles; triangle++)
+			for (int corner = 2; corner >= 0; corner--) {
+				int vertex = source.getVertex(triangle, corner);
+				int index = !source.isFront(triangle) && source.isSeam(vertex) ? backIndices[vertex] : frontIndices[vertex];
+				if (shortIndices)
+					bin.putShort((short) index);
+				else
+					bin.putInt(index);
+			}
+		bin.pad(indicesLength - indicesSize, (byte) 0);
+
+		for (int i = 0; i < count; i++)
+			for (int axis : AXES)
+				bin.putFloat(source.getScale(axis) * (base[4 * sources[i] + axis] & 0xFF) + source.getTranslation(axis));
+		for (int i = 0; i < count; i++) {
+			float[] normal = MdlNormals.getNormal(base[4 * sources[i] + 3] & 0xFF);
+			for (int axis : AXES)
+				bin.putFloat(normal[axis]);
+		}
+		for (int i = 0; i < count; i++) {
+			int s = source.getS(sources[i]) + (backs[i] ? width / 2 : 0);
+			bin.putFloat((s + 0.5f) / width);
+			bin.putFloat((source.getT(sources[i]) + 0.5f) / height);
+		}
+
+		for (int frame = 1; frame < numFrames; frame++) {
+			source.readFrame(frame, packed);
+			for (int i = 0; i < count; i++) {
+				int vertex = 4 * sources[i];
+				for (int axis : AXES)
+					bin.putFloat(source.getScale(axis) * ((packed[vertex + axis] & 0xFF) - (base[vertex + axis] & 0xFF)));
+			}
+			for (int i = 0; i < count; i++) {
+				int vertex = 4 * sources[i];
+				float[] normal = MdlNormals.getNormal(packed[vertex + 3] & 0xFF);
+				float[] baseNormal = MdlNormals.getNormal(base[vertex + 3] & 0xFF);
+				for (int axis : AXES)
+					bin.putFloat(normal[axis] - baseNormal[axis]);
+			}
+		}
+
+		if (image != null) {
+			bin.put(image);
+			bin.pad(imageLength - image.length, (byte) 0);
+		}
+		bin.flush();
+		output.flush();
+	}
+
+	@Override
+	public String getExtension() {
+		return "glb";
+	}
+
+	private byte[] encodeImage(byte[] indices, int width, int height) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < height; y++)
+			for (int x = 0; x < width; x++)
+				image.setRGB(x, y, this.palette.getColor(indices[y * width + x]));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", output);
+		return output.toByteArray();
+	}
+
+	private static int align(int length) {
+		return (length + 3) & ~3;
+	}
+
+	private static void findRanges(byte[] packed, byte[] base, int[] sources, int count, int[] ranges, int offset) {
+		for (int axis = 0; axis < 3; axis++) {
+			ranges[offset + axis] = Integer.MAX_VALUE;
+			ranges[offset + axis + 3] = Integer.MIN_VALUE;
+		}
+		for (int i = 0; i < count; i++) {
+			int vertex = 4 * sources[i];
+			for (int axis = 0; axis < 3; axis++) {
+				int value = (packed[vertex + axis] & 0xFF) - (base == null ? 0 : base[vertex + axis] & 0xFF);
+				ranges[offset + axis] = Math.min(ranges[offset + axis], value);
+				ranges[offset + axis + 3] = Math.max(ranges[offset + axis + 3], value);
+			}
+		}
+	}
+
+	private static float[] getBounds(MdlExportSource source, int[] ranges, int frame, boolean absolute) {
+		float[] bounds = new float[6];
+		for (int i = 0; i < 3; i++) {
+			int axis = AXES[i];
+			float translation = absolute ? source.getTranslation(axis) : 0.0f;
+			float min = source.getScale(axis) * ranges[6 * frame + axis] + translation;
+			float max = source.getScale(axis) * ranges[6 * frame + axis + 3] + translation;
+			bounds[i] = Math.min(min, max);
+			bounds[i + 3] = Math.max(min, max);
+		}
+		return bounds;
+	}
+
+	private static void addView(Json views, int offset, int length, int target) {
+		views.separate().append("{\"buffer\":0,\"byteOffset\":").append(offset).append(",\"byteLength\":").append(length);
+		if (target != 0)
+			views.append(",\"target\":").append(target);
+		views.append("}");
+	}
+
+	private static void addAccessor(Json accessors, int view, int componentType, int count, String type, float[] bounds) {
+		accessors.separate().append("{\"bufferView\":").append(view).append(",\"componentType\":").append(componentType);
+		accessors.append(",\"count\":").append(count).append(",\"type\":\"").append(type).append("\"");
+		if (bounds != null && count > 0) {
+			accessors.append(",\"min\":[").append(bounds[0]).append(",").append(bounds[1]).append(",").append(bounds[2]).append("]");
+			accessors.append(",\"max\":[").append(bounds[3]).append(",").append(bounds[4]).append(",").append(bounds[5]).append("]");
+		}
+		accessors.append("}");
+	}
+
+	private static class BinaryOutput {
+
+		private final OutputStream output;
+		private final ByteBuffer buffer;
+
+		private BinaryOutput(OutputStream output) {
+			this.output = output;
+			this.buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		private void require(int length) throws IOException {
+			if (this.buffer.remaining() < length)
+				flush();
+		}
+
+		private void putShort(short value) throws IOException {
+			require(2);
+			this.buffer.putShort(value);
+		}
+
+		private void putInt(int value) throws IOException {
+			require(4);
+			this.buffer.putInt(value);
+		}
+
+		private void putFloat(float value) throws IOException {
+			require(4);
+			this.buffer.putFloat(value);
+		}
+
+		private void put(byte[] bytes) throws IOException {
+			flush();
+			this.output.write(bytes);
+		}
+
+		private void pad(int length, byte value) throws IOException {
+			for (int i = 0; i < length; i++) {
+				require(1);
+				this.buffer.put(value);
+			}
+		}
+
+		private void flush() throws IOException {
+			this.output.write(this.buffer.array(), 0, this.buffer.position());
+			this.buffer.clear();
+		}
+
+	}
+
+	private static class Json {
+
+		private final StringBuilder builder = new StringBuilder();
+
+		private Json separate() {
+			if (this.builder.length() > 0)
+				this.builder.append(',');
+			return this;
+		}
+
+		private Json append(Object value) {
+			this.builder.append(value);
+			return this;
+		}
+
+		private Json string(String value) {
+			this.builder.append('"');
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if (c == '"' || c == '\\')
+					this.builder.append('\\').append(c);
+				else if (c < 0x20 || c > 0x7E)
+					this.builder.append(String.format("\\u%04x", (int) c));
+				else
+					this.builder.append(c);
+			}
+			this.builder.append('"');
+			return this;
+		}
+
+		@Override
+		public String toString() {
+			return this.builder.toString();
+		}
+
+	}
+
+}
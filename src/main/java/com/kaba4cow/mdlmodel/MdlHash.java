@@ -0,0 +1,147 @@
+package com.kaba4cow.mdlmodel;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Represents the content hash of an {@code MDL} model. A stable 64-bit hash is computed for each section of the file while it
+ * is being read, which allows two versions of a model to be compared section by section without keeping their data.
+ */
+public class MdlHash {
+
+	private final long header;
+	private final long skins;
+	private final long textureCoords;
+	private final long triangles;
+	private final long[] frameGroups;
+	private final long hash;
+
+	MdlHash(long header, long skins, long textureCoords, long triangles, long[] frameGroups) {
+		this.header = header;
+		this.skins = skins;
+		this.textureCoords = textureCoords;
+		this.triangles = triangles;
+		this.frameGroups = frameGroups;
+		long hash = header;
+		hash = 31L * hash + skins;
+		hash = 31L * hash + textureCoords;
+		hash = 31L * hash + triangles;
+		for (long frameGroup : frameGroups)
+			hash = 31L * hash + frameGroup;
+		this.hash = hash;
+	}
+
+	/**
+	 * Gets the hash of the file header.
+	 * 
+	 * @return the header hash
+	 */
+	public long getHeader() {
+		return this.header;
+	}
+
+	/**
+	 * Gets the hash of all texture groups.
+	 * 
+	 * @return the skins hash
+	 */
+	public long getSkins() {
+		return this.skins;
+	}
+
+	/**
+	 * Gets the hash of the texture coordinates.
+	 * 
+	 * @return the texture coordinates hash
+	 */
+	public long getTextureCoords() {
+		return this.textureCoords;
+	}
+
+	/**
+	 * Gets the hash of the triangles.
+	 * 
+	 * @return the triangles hash
+	 */
+	public long getTriangles() {
+		return this.triangles;
+	}
+
+	/**
+	 * Gets the hash of each frame group.
+	 * 
+	 * @return an array of hashes, one for each {@link MdlFrameGroup}
+	 */
+	public long[] getFrameGroups() {
+		return this.frameGroups;
+	}
+
+	/**
+	 * Gets the hash of the whole model, combined from the hashes of all sections.
+	 * 
+	 * @return the model hash
+	 */
+	public long getHash() {
+		return this.hash;
+	}
+
+	/**
+	 * Determines which sections differ between this hash and another one.
+	 * 
+	 * @param other the {@link MdlHash} of another version of the model
+	 * 
+	 * @return a set of {@link MdlSection} values whose hashes differ
+	 */
+	public Set<MdlSection> getChangedSections(MdlHash other) {
+		Set<MdlSection> sections = EnumSet.noneOf(MdlSection.class);
+		if (this.header != other.header)
+			sections.add(MdlSection.HEADER);
+		if (this.skins != other.skins)
+			sections.add(MdlSection.SKINS);
+		if (this.textureCoords != other.textureCoords)
+			sections.add(MdlSection.TEXTURE_COORDS);
+		if (this.triangles != other.triangles)
+			sections.add(MdlSection.TRIANGLES);
+		if (!Arrays.equals(this.frameGroups, other.frameGroups))
+			sections.add(MdlSection.FRAME_GROUPS);
+		return sections;
+	}
+
+	/**
+	 * Checks whether a frame group differs between this hash and another one. Frame groups present in only one of them are
+	 * considered changed.
+	 * 
+	 * @param other the {@link MdlHash} of another version of the model
+	 * @param index the index of the frame group
+	 * 
+	 * @return {@code true} if the frame group changed, {@code false} otherwise
+	 */
+	public boolean isFrameGroupChanged(MdlHash other, int index) {
+		return index >= this.frameGroups.length || index >= other.frameGroups.length
+				|| this.frameGroups[index] != other.frameGroups[index];
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(this.hash);
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (this == object)
+			return true;
+		if (!(object instanceof MdlHash))
+			return false;
+		MdlHash other = (MdlHash) object;
+		return this.header == other.header && this.skins == other.skins && this.textureCoords == other.textureCoords
+				&& this.triangles == other.triangles && Arrays.equals(this.frameGroups, other.frameGroups);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlHash [hash=%016x, header=%016x, skins=%016x, textureCoords=%016x, triangles=%016x, frameGroups=%s]",
+				this.hash, this.header, this.skins, this.textureCoords, this.triangles, this.frameGroups.length);
+	}
+
+}
@@ -0,0 +1,441 @@
+package com.kaba4cow.mdlmodel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Builds convex hulls of point sets with the quickhull algorithm. Faces are kept in a max-heap keyed by the distance of
+ * their furthest outside point, so the point furthest outside the current hull is always added next. The number of hull
+ * vertices can be limited, in which case construction stops early and every vertex added so far was the largest remaining
+ * deviation from the hull at the time it was added.
+ */
+public class MdlHullBuilder {
+
+	private static final double EPSILON = 1e-5;
+
+	private final int maxVertices;
+
+	/**
+	 * Constructs a new {@code MdlHullBuilder} without a vertex limit.
+	 */
+	public MdlHullBuilder() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Constructs a new {@code MdlHullBuilder} with a vertex limit.
+	 * 
+	 * @param maxVertices the maximum number of hull vertices, at least {@code 4}
+	 * 
+	 * @throws IllegalArgumentException if the limit is less than {@code 4}
+	 */
+	public MdlHullBuilder(int maxVertices) {
+		if (maxVertices < 4)
+			throw new IllegalArgumentException(String.format("Unsupported vertex limit: %s", maxVertices));
+		this.maxVertices = maxVertices;
+	}
+
+	/**
+	 * Builds the convex hull of a point set. If all points are coplanar, the hull contains the extreme points without faces.
+	 * 
+	 * @param points the x, y, z components of each point
+	 * 
+	 * @return the {@link MdlConvexHull} of the points
+	 * 
+	 * @throws IllegalArgumentException if the point set is empty
+	 */
+	public MdlConvexHull build(float[] points) {
+		if (points.length < 3)
+			throw new IllegalArgumentException(String.format("Unsupported number of points: %s", points.length / 3));
+		return new Quickhull(points).build();
+	}
+
+	/**
+	 * Gets the maximum number of hull vertices.
+	 * 
+	 * @return the vertex limit
+	 */
+	public int getMaxVertices() {
+		return this.maxVertices;
+	}
+
+	private class Quickhull {
+
+		private final float[] points;
+		private final int numPoints;
+		private final double epsilon;
+		private final List<Face> faces;
+		private final Map<Long, Face> edges;
+		private final PriorityQueue<Face> queue;
+		private final int[] degrees;
+
+		private int numVertices;
+		private int[] simplex;
+		private int simplexSize;
+
+		private Quickhull(float[] points) {
+			this.points = points;
+			this.numPoints = points.length / 3;
+			double extent = 0.0;
+			for (float value : points)
+				extent = Math.max(extent, Math.abs(value));
+			this.epsilon = EPSILON * Math.max(1.0, extent);
+			this.faces = new ArrayList<>();
+			this.edges = new HashMap<>();
+			this.queue = new PriorityQueue<>((first, second) -> Double.compare(second.furthestDistance, first.furthestDistance));
+			this.degrees = new int[this.numPoints];
+			this.numVertices = 0;
+		}
+
+		private MdlConvexHull build() {
+			if (!findSimplex())
+				return buildFlat();
+			int a = this.simplex[0];
+			int b = this.simplex[1];
+			int c = this.simplex[2];
+			int d = this.simplex[3];
+			if (new Face(a, b, c).distance(d) > 0.0) {
+				int temp = b;
+				b = c;
+				c = temp;
+			}
+			List<Face> created = new ArrayList<>();
+			created.add(addFace(a, b, c));
+			created.add(addFace(a, d, b));
+			created.add(addFace(b, d, c));
+			created.add(addFace(c, d, a));
+			List<Integer> candidates = new ArrayList<>();
+			for (int i = 0; i < this.numPoints; i++)
+				if (i != a && i != b && i != c && i != d)
+					candidates.add(i);
+			assign(candidates, created);
+
+			Face face;
+			while (this.numVertices < MdlHullBuilder.this.maxVertices && (face = pollOutsideFace()) != null)
+				addPoint(face);
+			return compact();
+		}
+
+		private boolean findSimplex() {
+			this.simplex = new int[4];
+			this.simplexSize = 0;
+			if (this.numPoints == 0)
+				return false;
+			int[] extremes = new int[6];
+			for (int i = 1; i < this.numPoints; i++)
+				for (int axis = 0; axis < 3; axis++) {
+					if (this.points[3 * i + axis] < this.points[3 * extremes[axis] + axis])
+						extremes[axis] = i;
+					if (this.points[3 * i + axis] > this.points[3 * extremes[axis + 3] + axis])
+						extremes[axis + 3] = i;
+				}
+			int a = extremes[0];
+			int b = extremes[0];
+			double best = -1.0;
+			for (int i = 0; i < 6; i++)
+				for (int j = i + 1; j < 6; j++) {
+					double distance = distanceSquared(extremes[i], extremes[j]);
+					if (distance > best) {
+						best = distance;
+						a = extremes[i];
+						b = extremes[j];
+					}
+				}
+			this.simplex[this.simplexSize++] = a;
+			if (best <= this.epsilon * this.epsilon)
+				return false;
+			this.simplex[this.simplexSize++] = b;
+			int c = -1;
+			best = this.epsilon * this.epsilon;
+			for (int i = 0; i < this.numPoints; i++) {
+				double[] cross = cross(a, b, i);
+				double distance = (cross[0] * cross[0] + cross[1] * cross[1] + cross[2] * cross[2]) / distanceSquared(a, b);
+				if (distance > best) {
+					best = distance;
+					c = i;
+				}
+			}
+			if (c < 0)
+				return false;
+			this.simplex[this.simplexSize++] = c;
+			Face plane = new Face(a, b, c);
+			int d = -1;
+			best = this.epsilon;
+			for (int i = 0; i < this.numPoints; i++) {
+				double distance = Math.abs(plane.distance(i));
+				if (distance > best) {
+					best = distance;
+					d = i;
+				}
+			}
+			if (d < 0)
+				return false;
+			this.simplex[this.simplexSize++] = d;
+			return true;
+		}
+
+		private MdlConvexHull buildFlat() {
+			List<Integer> boundary = new ArrayList<>();
+			if (this.simplexSize < 3)
+				for (int i = 0; i < this.simplexSize; i++)
+					boundary.add(this.simplex[i]);
+			else
+				boundary = buildPolygon(new Face(this.simplex[0], this.simplex[1], this.simplex[2]));
+			int limit = Math.min(boundary.size(), MdlHullBuilder.this.maxVertices);
+			float[] hullVertices = new float[3 * limit];
+			for (int i = 0; i < limit; i++)
+				System.arraycopy(this.points, 3 * boundary.get(i * boundary.size() / limit), hullVertices, 3 * i, 3);
+			return new MdlConvexHull(hullVertices, new int[0], new float[0]);
+		}
+
+		private List<Integer> buildPolygon(Face plane) {
+			int a = this.simplex[0];
+			double length = Math.sqrt(distanceSquared(a, this.simplex[1]));
+			double ux = (this.points[3 * this.simplex[1] + 0] - this.points[3 * a + 0]) / length;
+			double uy = (this.points[3 * this.simplex[1] + 1] - this.points[3 * a + 1]) / length;
+			double uz = (this.points[3 * this.simplex[1] + 2] - this.points[3 * a + 2]) / length;
+			double vx = plane.ny * uz - plane.nz * uy;
+			double vy = plane.nz * ux - plane.nx * uz;
+			double vz = plane.nx * uy - plane.ny * ux;
+			double[] u = new double[this.numPoints];
+			double[] v = new double[this.numPoints];
+			Integer[] order = new Integer[this.numPoints];
+			for (int i = 0; i < this.numPoints; i++) {
+				double dx = this.points[3 * i + 0] - this.points[3 * a + 0];
+				double dy = this.points[3 * i + 1] - this.points[3 * a + 1];
+				double dz = this.points[3 * i + 2] - this.points[3 * a + 2];
+				u[i] = dx * ux + dy * uy + dz * uz;
+				v[i] = dx * vx + dy * vy + dz * vz;
+				order[i] = i;
+			}
+			Arrays.sort(order, (i, j) -> u[i] != u[j] ? Double.compare(u[i], u[j]) : Double.compare(v[i], v[j]));
+			int[] polygon = new int[2 * this.numPoints];
+			int size = 0;
+			for (int pass = 0; pass < 2; pass++) {
+				int lower = size;
+				for (int k = 0; k < this.numPoints; k++) {
+					int point = order[pass == 0 ? k : this.numPoints - 1 - k];
+					while (size >= lower + 2) {
+						int p = polygon[size - 2];
+						int q = polygon[size - 1];
+						double turn = (u[q] - u[p]) * (v[point] - v[p]) - (v[q] - v[p]) * (u[point] - u[p]);
+						if (turn > this.epsilon * this.epsilon)
+							break;
+						size--;
+					}
+					polygon[size++] = point;
+				}
+				size--;
+			}
+			List<Integer> boundary = new ArrayList<>();
+			for (int i = 0; i < size; i++)
+				boundary.add(polygon[i]);
+			return boundary;
+		}
+
+		private Face pollOutsideFace() {
+			while (!this.queue.isEmpty()) {
+				Face face = this.queue.poll();
+				if (face.alive)
+					return face;
+			}
+			return null;
+		}
+
+		private void addPoint(Face start) {
+			int eye = start.furthest;
+
+			List<Face> visible = new ArrayList<>();
+			List<int[]> horizon = new ArrayList<>();
+			Set<Face> visited = new HashSet<>();
+			Deque<Face> queue = new ArrayDeque<>();
+			queue.add(start);
+			visited.add(start);
+			while (!queue.isEmpty()) {
+				Face face = queue.poll();
+				visible.add(face);
+				int[] corners = { face.a, face.b, face.c };
+				for (int i = 0; i < 3; i++) {
+					int from = corners[i];
+					int to = corners[(i + 1) % 3];
+					Face neighbor = this.edges.get(edge(to, from));
+					if (visited.contains(neighbor))
+						continue;
+					if (neighbor.distance(eye) > this.epsilon) {
+						visited.add(neighbor);
+						queue.add(neighbor);
+					} else
+						horizon.add(new int[] { from, to });
+				}
+			}
+
+			List<Integer> orphans = new ArrayList<>();
+			for (Face face : visible) {
+				removeFace(face);
+				orphans.addAll(face.outside);
+			}
+			List<Face> created = new ArrayList<>();
+			for (int[] edge : horizon)
+				created.add(addFace(edge[0], edge[1], eye));
+			orphans.remove(Integer.valueOf(eye));
+			assign(orphans, created);
+		}
+
+		private Face addFace(int a, int b, int c) {
+			Face face = new Face(a, b, c);
+			this.faces.add(face);
+			this.edges.put(edge(a, b), face);
+			this.edges.put(edge(b, c), face);
+			this.edges.put(edge(c, a), face);
+			addDegree(a, 1);
+			addDegree(b, 1);
+			addDegree(c, 1);
+			return face;
+		}
+
+		private void removeFace(Face face) {
+			face.alive = false;
+			this.edges.remove(edge(face.a, face.b));
+			this.edges.remove(edge(face.b, face.c));
+			this.edges.remove(edge(face.c, face.a));
+			addDegree(face.a, -1);
+			addDegree(face.b, -1);
+			addDegree(face.c, -1);
+		}
+
+		private void addDegree(int vertex, int delta) {
+			int degree = this.degrees[vertex];
+			this.degrees[vertex] = degree + delta;
+			if (degree == 0)
+				this.numVertices++;
+			else if (degree + delta == 0)
+				this.numVertices--;
+		}
+
+		private void assign(List<Integer> points, List<Face> faces) {
+			for (int point : points) {
+				Face best = null;
+				double bestDistance = this.epsilon;
+				for (Face face : faces) {
+					double distance = face.distance(point);
+					if (distance > bestDistance) {
+						best = face;
+						bestDistance = distance;
+					}
+				}
+				if (best != null) {
+					best.outside.add(point);
+					if (bestDistance > best.furthestDistance) {
+						best.furthest = point;
+						best.furthestDistance = bestDistance;
+					}
+				}
+			}
+			for (Face face : faces)
+				if (face.furthest >= 0)
+					this.queue.add(face);
+		}
+
+		private MdlConvexHull compact() {
+			this.faces.removeIf(face -> !face.alive);
+			Map<Integer, Integer> remap = new HashMap<>();
+			int[] hullFaces = new int[3 * this.faces.size()];
+			float[] planes = new float[4 * this.faces.size()];
+			for (int i = 0; i < this.faces.size(); i++) {
+				Face face = this.faces.get(i);
+				int[] corners = { face.a, face.b, face.c };
+				for (int corner = 0; corner < 3; corner++) {
+					Integer index = remap.get(corners[corner]);
+					if (index == null) {
+						index = remap.size();
+						remap.put(corners[corner], index);
+					}
+					hullFaces[3 * i + corner] = index;
+				}
+				planes[4 * i + 0] = (float) face.nx;
+				planes[4 * i + 1] = (float) face.ny;
+				planes[4 * i + 2] = (float) face.nz;
+				planes[4 * i + 3] = (float) face.d;
+			}
+			float[] hullVertices = new float[3 * remap.size()];
+			for (Map.Entry<Integer, Integer> entry : remap.entrySet())
+				System.arraycopy(this.points, 3 * entry.getKey(), hullVertices, 3 * entry.getValue(), 3);
+			return new MdlConvexHull(hullVertices, hullFaces, planes);
+		}
+
+		private long edge(int from, int to) {
+			return (long) from << 32 | to & 0xFFFFFFFFL;
+		}
+
+		private double distanceSquared(int a, int b) {
+			double dx = this.points[3 * b + 0] - this.points[3 * a + 0];
+			double dy = this.points[3 * b + 1] - this.points[3 * a + 1];
+			double dz = this.points[3 * b + 2] - this.points[3 * a + 2];
+			return dx * dx + dy * dy + dz * dz;
+		}
+
+		private double[] cross(int a, int b, int c) {
+			double e1x = this.points[3 * b + 0] - this.points[3 * a + 0];
+			double e1y = this.points[3 * b + 1] - this.points[3 * a + 1];
+			double e1z = this.points[3 * b + 2] - this.points[3 * a + 2];
+			double e2x = this.points[3 * c + 0] - this.points[3 * a + 0];
+			double e2y = this.points[3 * c + 1] - this.points[3 * a + 1];
+			double e2z = this.points[3 * c + 2] - this.points[3 * a + 2];
+			return new double[] { e1y * e2z - e1z * e2y, e1z * e2x - e1x * e2z, e1x * e2y - e1y * e2x };
+		}
+
+		private class Face {
+
+			private final int a;
+			private final int b;
+			private final int c;
+			private final double nx;
+			private final double ny;
+			private final double nz;
+			private final double d;
+			private final List<Integer> outside;
+
+			private int furthest;
+			private double furthestDistance;
+			private boolean alive;
+
+			private Face(int a, int b, int c) {
+				this.a = a;
+				this.b = b;
+				this.c = c;
+				double[] normal = cross(a, b, c);
+				double length = Math.sqrt(normal[0] * normal[0] + normal[1] * normal[1] + normal[2] * normal[2]);
+				if (length > 0.0) {
+					normal[0] /= length;
+					normal[1] /= length;
+					normal[2] /= length;
+				}
+				this.nx = normal[0];
+				this.ny = normal[1];
+				this.nz = normal[2];
+				this.d = -(this.nx * Quickhull.this.points[3 * a + 0] + this.ny * Quickhull.this.points[3 * a + 1]
+						+ this.nz * Quickhull.this.points[3 * a + 2]);
+				this.outside = new ArrayList<>();
+				this.furthest = -1;
+				this.furthestDistance = 0.0;
+				this.alive = true;
+			}
+
+			private double distance(int point) {
+				return this.nx * Quickhull.this.points[3 * point + 0] + this.ny * Quickhull.this.points[3 * point + 1]
+						+ this.nz * Quickhull.this.points[3 * point + 2] + this.d;
+			}
+
+		}
+
+	}
+
+}
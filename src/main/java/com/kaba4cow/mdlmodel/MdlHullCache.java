@@ -0,0 +1,109 @@
+package com.kaba4cow.mdlmodel;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Provides convex collision hulls for the frames of an {@code MDL} model. Hulls are built from the decompressed vertices of
+ * each frame on first use and cached, or built for all frames at once in parallel.
+ */
+public class MdlHullCache {
+
+	private final MdlModel model;
+	private final MdlHullBuilder builder;
+	private final Map<MdlFrame, MdlConvexHull> hulls;
+
+	/**
+	 * Constructs a new {@code MdlHullCache} for the specified model without a vertex limit.
+	 * 
+	 * @param model the {@link MdlModel} to build hulls for
+	 */
+	public MdlHullCache(MdlModel model) {
+		this(model, new MdlHullBuilder());
+	}
+
+	/**
+	 * Constructs a new {@code MdlHullCache} for the specified model with a hull vertex limit.
+	 * 
+	 * @param model       the {@link MdlModel} to build hulls for
+	 * @param maxVertices the maximum number of vertices of each hull, at least {@code 4}
+	 * 
+	 * @throws IllegalArgumentException if the limit is less than {@code 4}
+	 */
+	public MdlHullCache(MdlModel model, int maxVertices) {
+		this(model, new MdlHullBuilder(maxVertices));
+	}
+
+	private MdlHullCache(MdlModel model, MdlHullBuilder builder) {
+		this.model = model;
+		this.builder = builder;
+		this.hulls = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Gets the convex hull of a frame, building and caching it on first use.
+	 * 
+	 * @param frame the {@link MdlFrame} of the model
+	 * 
+	 * @return the {@link MdlConvexHull} of the frame's vertices
+	 * 
+	 * @throws IllegalArgumentException if the model has no vertices
+	 */
+	public MdlConvexHull getHull(MdlFrame frame) {
+		return this.hulls.computeIfAbsent(frame, key -> this.builder.build(this.model.decompress(key)));
+	}
+
+	/**
+	 * Gets the convex hull of a frame by its index in the model's {@link MdlFrameIndex}.
+	 * 
+	 * @param index the flattened frame index
+	 * 
+	 * @return the {@link MdlConvexHull} of the frame's vertices
+	 */
+	public MdlConvexHull getHull(int index) {
+		return getHull(this.model.getFrameIndex().getFrame(index));
+	}
+
+	/**
+	 * Builds and caches the convex hulls of all frames of the model in parallel. Hulls that are already cached are not
+	 * rebuilt.
+	 * 
+	 * @return this cache
+	 * 
+	 * @throws IllegalArgumentException if the model has no vertices
+	 */
+	public MdlHullCache buildAll() {
+		MdlFrameIndex frameIndex = this.model.getFrameIndex();
+		IntStream.range(0, frameIndex.getNumFrames()).parallel().forEach(this::getHull);
+		return this;
+	}
+
+	/**
+	 * Gets the number of cached hulls.
+	 * 
+	 * @return the number of hulls built so far
+	 */
+	public int getNumHulls() {
+		return this.hulls.size();
+	}
+
+	/**
+	 * Gets the model this cache operates on.
+	 * 
+	 * @return the {@link MdlModel}
+	 */
+	public MdlModel getModel() {
+		return this.model;
+	}
+
+	/**
+	 * Gets the maximum number of vertices of each hull.
+	 * 
+	 * @return the vertex limit, or {@link Integer#MAX_VALUE} if unlimited
+	 */
+	public int getMaxVertices() {
+		return this.builder.getMaxVertices();
+	}
+
+}
@@ -0,0 +1,187 @@
+package com.kaba4cow.mdlmodel;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates data of {@code MDL} models while they are being read. Frame vertices, texture indices, texture coordinates and
+ * triangles are hashed in their packed form and compared against the decoded canonical copies, so the packed data is not
+ * retained, and identical data is shared as a single canonical copy between all frames and models read with the same
+ * interner. An interner is safe to share between threads loading models concurrently, and it keeps
+ * every canonical copy reachable for as long as it is itself reachable.
+ */
+public class MdlInterner {
+
+	private static final int ARRAY_HEADER_SIZE = 16;
+	private static final int REFERENCE_SIZE = 4;
+	private static final int VERTEX_SIZE = 32;
+	private static final int TEXTURE_COORD_SIZE = 24;
+	private static final int TRIANGLE_SIZE = 56;
+
+	private final Map<Key, MdlVertex[]> vertices;
+	private final Map<Key, byte[]> indices;
+	private final Map<Key, MdlTextureCoord[]> textureCoords;
+	private final Map<Key, MdlTriangle[]> triangles;
+
+	private final AtomicLong bytesRead;
+	private final AtomicLong bytesSaved;
+
+	/**
+	 * Constructs a new empty {@code MdlInterner}.
+	 */
+	public MdlInterner() {
+		this.vertices = new ConcurrentHashMap<>();
+		this.indices = new ConcurrentHashMap<>();
+		this.textureCoords = new ConcurrentHashMap<>();
+		this.triangles = new ConcurrentHashMap<>();
+		this.bytesRead = new AtomicLong();
+		this.bytesSaved = new AtomicLong();
+	}
+
+	MdlVertex[] internVertices(byte[] packed) {
+		Key key = new Key(Arrays.hashCode(packed), packed.length, i -> packed[i] & 0xFF);
+		return intern(this.vertices, key, packed.length, arraySize(packed.length / 4, VERTEX_SIZE),
+				() -> MdlVertex.decode(packed), vertices -> new Key(key.hash, key.size, i -> getComponent(vertices[i >> 2], i & 3)));
+	}
+
+	byte[] internIndices(byte[] packed) {
+		Key key = new Key(Arrays.hashCode(packed), packed.length, i -> packed[i]);
+		return intern(this.indices, key, packed.length, align(ARRAY_HEADER_SIZE + packed.length), () -> packed, indices -> key);
+	}
+
+	MdlTextureCoord[] internTextureCoords(int[] packed) {
+		Key key = new Key(Arrays.hashCode(packed), packed.length, i -> packed[i]);
+		return intern(this.textureCoords, key, Integer.BYTES * packed.length, arraySize(packed.length / 3, TEXTURE_COORD_SIZE),
+				() -> MdlTextureCoord.decode(packed),
+				textureCoords -> new Key(key.hash, key.size, i -> getComponent(textureCoords[i / 3], i % 3)));
+	}
+
+	MdlTriangle[] internTriangles(int[] packed) {
+		Key key = new Key(Arrays.hashCode(packed), packed.length, i -> packed[i]);
+		return intern(this.triangles, key, Integer.BYTES * packed.length, arraySize(packed.length / 4, TRIANGLE_SIZE),
+				() -> MdlTriangle.decode(packed), triangles -> new Key(key.hash, key.size, i -> getComponent(triangles[i >> 2], i & 3)));
+	}
+
+	private <T> T intern(Map<Key, T> map, Key key, int packedSize, long heapSize, Supplier<T> decoder, Function<T, Key> canonicalKey) {
+		this.bytesRead.addAndGet(packedSize);
+		T canonical = map.get(key);
+		if (canonical == null) {
+			T decoded = decoder.get();
+			canonical = map.putIfAbsent(canonicalKey.apply(decoded), decoded);
+			if (canonical == null)
+				return decoded;
+		}
+		this.bytesSaved.addAndGet(heapSize);
+		return canonical;
+	}
+
+	private static int getComponent(MdlVertex vertex, int component) {
+		switch (component) {
+			case 0:
+				return vertex.getX();
+			case 1:
+				return vertex.getY();
+			case 2:
+				return vertex.getZ();
+			default:
+				return vertex.getNormal();
+		}
+	}
+
+	private static int getComponent(MdlTextureCoord textureCoord, int component) {
+		switch (component) {
+			case 0:
+				return textureCoord.getSeamFlag();
+			case 1:
+				return textureCoord.getS();
+			default:
+				return textureCoord.getT();
+		}
+	}
+
+	private static int getComponent(MdlTriangle triangle, int component) {
+		return component == 0 ? triangle.getFrontFlag() : triangle.getVertices()[component - 1];
+	}
+
+	private static long arraySize(int length, int elementSize) {
+		return align(ARRAY_HEADER_SIZE + REFERENCE_SIZE * length) + (long) elementSize * length;
+	}
+
+	private static long align(long size) {
+		return (size + 7) & ~7L;
+	}
+
+	/**
+	 * Gets the total size of the packed data passed through this interner.
+	 * 
+	 * @return the number of bytes read
+	 */
+	public long getBytesRead() {
+		return this.bytesRead.get();
+	}
+
+	/**
+	 * Gets the estimated heap size of the decoded objects that were not allocated because a shared canonical copy was used
+	 * instead. Object sizes are estimated for a 64-bit JVM with compressed references.
+	 * 
+	 * @return the number of heap bytes saved
+	 */
+	public long getBytesSaved() {
+		return this.bytesSaved.get();
+	}
+
+	/**
+	 * Gets the number of distinct canonical copies held by this interner.
+	 * 
+	 * @return the number of canonical copies
+	 */
+	public int getNumCanonical() {
+		return this.vertices.size() + this.indices.size() + this.textureCoords.size() + this.triangles.size();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlInterner [bytesRead=%s, bytesSaved=%s, numCanonical=%s]", getBytesRead(), getBytesSaved(),
+				getNumCanonical());
+	}
+
+	private static class Key {
+
+		private final int hash;
+		private final int size;
+		private final IntUnaryOperator elements;
+
+		private Key(int hash, int size, IntUnaryOperator elements) {
+			this.hash = hash;
+			this.size = size;
+			this.elements = elements;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object)
+				return true;
+			if (!(object instanceof Key))
+				return false;
+			Key other = (Key) object;
+			if (this.hash != other.hash || this.size != other.size)
+				return false;
+			for (int i = 0; i < this.size; i++)
+				if (this.elements.applyAsInt(i) != other.elements.applyAsInt(i))
+					return false;
+			return true;
+		}
+
+	}
+
+}
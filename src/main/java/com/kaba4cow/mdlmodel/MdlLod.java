@@ -0,0 +1,63 @@
+package com.kaba4cow.mdlmodel;
+
+/**
+ * Represents a level of detail of an {@code MDL} model. A level consists of a reduced set of triangles that reference a subset
+ * of the model's original vertices, so it can be drawn with the vertices of any frame and the model's texture coordinates.
+ */
+public class MdlLod {
+
+	private final MdlTriangle[] triangles;
+	private final int[] vertices;
+	private final float screenSize;
+	private final float error;
+
+	MdlLod(MdlTriangle[] triangles, int[] vertices, float screenSize, float error) {
+		this.triangles = triangles;
+		this.vertices = vertices;
+		this.screenSize = screenSize;
+		this.error = error;
+	}
+
+	/**
+	 * Gets the triangles of this level. The triangles reference vertex indices of the original model.
+	 * 
+	 * @return an array of {@link MdlTriangle} objects
+	 */
+	public MdlTriangle[] getTriangles() {
+		return this.triangles;
+	}
+
+	/**
+	 * Gets the indices of the original vertices referenced by the triangles of this level.
+	 * 
+	 * @return a sorted array of vertex indices
+	 */
+	public int[] getVertices() {
+		return this.vertices;
+	}
+
+	/**
+	 * Gets the minimum screen size at which this level is selected.
+	 * 
+	 * @return the screen size threshold
+	 */
+	public float getScreenSize() {
+		return this.screenSize;
+	}
+
+	/**
+	 * Gets the largest quadric error of the collapses performed to reach this level, summed over the sampled frames.
+	 * 
+	 * @return the simplification error
+	 */
+	public float getError() {
+		return this.error;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlLod [triangles=%s, vertices=%s, screenSize=%s, error=%s]", this.triangles.length,
+				this.vertices.length, this.screenSize, this.error);
+	}
+
+}
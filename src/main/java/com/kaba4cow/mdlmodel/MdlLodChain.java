@@ -0,0 +1,55 @@
+package com.kaba4cow.mdlmodel;
+
+import java.util.Arrays;
+
+/**
+ * Represents the levels of detail generated for an {@code MDL} model by an {@link MdlLodGenerator}, ordered from the most to
+ * the least detailed.
+ */
+public class MdlLodChain {
+
+	private final MdlLod[] levels;
+
+	MdlLodChain(MdlLod[] levels) {
+		this.levels = levels;
+	}
+
+	/**
+	 * Selects the most detailed level whose screen size threshold does not exceed the specified screen size. If the screen size
+	 * is below every threshold, the least detailed level is selected.
+	 * 
+	 * @param screenSize the projected size of the model on screen, in the same units as the thresholds
+	 * 
+	 * @return the selected {@link MdlLod}
+	 */
+	public MdlLod select(float screenSize) {
+		for (MdlLod level : this.levels)
+			if (screenSize >= level.getScreenSize())
+				return level;
+		return this.levels[this.levels.length - 1];
+	}
+
+	/**
+	 * Gets the number of levels.
+	 * 
+	 * @return the number of levels
+	 */
+	public int getNumLevels() {
+		return this.levels.length;
+	}
+
+	/**
+	 * Gets all levels ordered from the most to the least detailed.
+	 * 
+	 * @return an array of {@link MdlLod} objects
+	 */
+	public MdlLod[] getLevels() {
+		return this.levels;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlLodChain [levels=%s]", Arrays.toString(this.levels));
+	}
+
+}
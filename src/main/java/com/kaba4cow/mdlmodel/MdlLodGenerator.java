@@ -0,0 +1,313 @@
+package com.kaba4cow.mdlmodel;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates levels of detail for an {@code MDL} model by quadric error edge collapse. Every collapse moves one vertex onto one
+ * of its neighbors, so all levels reference the model's original vertices and remain valid for every frame. Collapse costs and
+ * triangle flips are evaluated over a sample of the model's frames, so the levels stay faithful throughout the animation.
+ * Vertices on texture seams only collapse onto other seam vertices, and vertices on open boundaries are kept in place.
+ */
+public class MdlLodGenerator {
+
+	private final MdlModel model;
+	private final float[][] positions;
+
+	/**
+	 * Constructs a new {@code MdlLodGenerator} that evaluates collapses over all frames of the model.
+	 * 
+	 * @param model the {@link MdlModel} to simplify
+	 * 
+	 * @throws IllegalArgumentException if the model has no frames
+	 */
+	public MdlLodGenerator(MdlModel model) {
+		this(model, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Constructs a new {@code MdlLodGenerator} that evaluates collapses over evenly spaced frames of the model.
+	 * 
+	 * @param model     the {@link MdlModel} to simplify
+	 * @param maxFrames the maximum number of frames to sample
+	 * 
+	 * @throws IllegalArgumentException if the model has no frames
+	 */
+	public MdlLodGenerator(MdlModel model, int maxFrames) {
+		MdlFrameIndex frameIndex = model.getFrameIndex();
+		if (frameIndex.getNumFrames() == 0)
+			throw new IllegalArgumentException(String.format("Unsupported number of frames: %s", frameIndex.getNumFrames()));
+		int numFrames = Math.max(1, Math.min(maxFrames, frameIndex.getNumFrames()));
+		this.model = model;
+		this.positions = new float[numFrames][];
+		for (int i = 0; i < numFrames; i++)
+			this.positions[i] = model.decompress(frameIndex.getFrame((int) ((long) i * frameIndex.getNumFrames() / numFrames)));
+	}
+
+	/**
+	 * Generates levels of detail with the specified triangle ratios.
+	 * 
+	 * @param ratios      the fraction of the original triangles to keep for each level, in decreasing order
+	 * @param screenSizes the minimum screen size at which each level is selected, in decreasing order
+	 * 
+	 * @return the generated {@link MdlLodChain}
+	 * 
+	 * @throws IllegalArgumentException if the arrays differ in length or are empty
+	 */
+	public MdlLodChain generate(float[] ratios, float[] screenSizes) {
+		if (ratios.length == 0 || ratios.length != screenSizes.length)
+			throw new IllegalArgumentException(String.format("Unexpected number of levels: %s", ratios.length));
+		Simplifier simplifier = new Simplifier();
+		MdlLod[] levels = new MdlLod[ratios.length];
+		for (int i = 0; i < ratios.length; i++) {
+			simplifier.collapse(Math.round(ratios[i] * this.model.getNumTriangles()));
+			levels[i] = simplifier.snapshot(screenSizes[i]);
+		}
+		return new MdlLodChain(levels);
+	}
+
+	private static double[] createQuadric(float[] positions, int a, int b, int c) {
+		double e1x = positions[3 * b + 0] - positions[3 * a + 0];
+		double e1y = positions[3 * b + 1] - positions[3 * a + 1];
+		double e1z = positions[3 * b + 2] - positions[3 * a + 2];
+		double e2x = positions[3 * c + 0] - positions[3 * a + 0];
+		double e2y = positions[3 * c + 1] - positions[3 * a + 1];
+		double e2z = positions[3 * c + 2] - positions[3 * a + 2];
+		double nx = e1y * e2z - e1z * e2y;
+		double ny = e1z * e2x - e1x * e2z;
+		double nz = e1x * e2y - e1y * e2x;
+		double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+		if (length == 0.0)
+			return new double[10];
+		double area = 0.5 * length;
+		nx /= length;
+		ny /= length;
+		nz /= length;
+		double d = -(nx * positions[3 * a + 0] + ny * positions[3 * a + 1] + nz * positions[3 * a + 2]);
+		return new double[] { area * nx * nx, area * nx * ny, area * nx * nz, area * nx * d, area * ny * ny, area * ny * nz,
+				area * ny * d, area * nz * nz, area * nz * d, area * d * d };
+	}
+
+	private static double evaluate(double[] quadric, int offset, float[] positions, int vertex) {
+		double x = positions[3 * vertex + 0];
+		double y = positions[3 * vertex + 1];
+		double z = positions[3 * vertex + 2];
+		return quadric[offset + 0] * x * x + 2.0 * quadric[offset + 1] * x * y + 2.0 * quadric[offset + 2] * x * z
+				+ 2.0 * quadric[offset + 3] * x + quadric[offset + 4] * y * y + 2.0 * quadric[offset + 5] * y * z
+				+ 2.0 * quadric[offset + 6] * y + quadric[offset + 7] * z * z + 2.0 * quadric[offset + 8] * z + quadric[offset + 9];
+	}
+
+	private class Simplifier {
+
+		private final int[] indices;
+		private final boolean[] fronts;
+		private final boolean[] removed;
+		private final List<Set<Integer>> incidence;
+		private final boolean[] seams;
+		private final boolean[] boundaries;
+		private final double[][] quadrics;
+		private final int[] versions;
+		private final PriorityQueue<Collapse> queue;
+
+		private int numTriangles;
+		private double error;
+
+		private Simplifier() {
+			MdlTriangle[] triangles = MdlLodGenerator.this.model.getTriangles();
+			MdlTextureCoord[] textureCoords = MdlLodGenerator.this.model.getTextureCoords();
+			int numVertices = MdlLodGenerator.this.model.getNumVertices();
+			this.numTriangles = triangles.length;
+			this.indices = new int[3 * triangles.length];
+			this.fronts = new boolean[triangles.length];
+			this.removed = new boolean[triangles.length];
+			this.incidence = new ArrayList<>(numVertices);
+			for (int i = 0; i < numVertices; i++)
+				this.incidence.add(new HashSet<>());
+			for (int i = 0; i < triangles.length; i++) {
+				System.arraycopy(triangles[i].getVertices(), 0, this.indices, 3 * i, 3);
+				this.fronts[i] = triangles[i].isFront();
+				for (int corner = 0; corner < 3; corner++)
+					this.incidence.get(this.indices[3 * i + corner]).add(i);
+			}
+			this.seams = new boolean[numVertices];
+			for (int i = 0; i < numVertices; i++)
+				this.seams[i] = textureCoords[i].isSeam();
+			this.boundaries = new boolean[numVertices];
+			for (int i = 0; i < numVertices; i++)
+				for (int neighbor : getNeighbors(i))
+					if (countShared(i, neighbor) < 2)
+						this.boundaries[i] = true;
+
+			float[][] positions = MdlLodGenerator.this.positions;
+			this.quadrics = new double[positions.length][10 * numVertices];
+			for (int frame = 0; frame < positions.length; frame++)
+				for (int i = 0; i < triangles.length; i++) {
+					double[] quadric = createQuadric(positions[frame], this.indices[3 * i + 0], this.indices[3 * i + 1],
+							this.indices[3 * i + 2]);
+					for (int corner = 0; corner < 3; corner++) {
+						int offset = 10 * this.indices[3 * i + corner];
+						for (int j = 0; j < 10; j++)
+							this.quadrics[frame][offset + j] += quadric[j];
+					}
+				}
+			this.versions = new int[numVertices];
+			this.queue = new PriorityQueue<>();
+			for (int i = 0; i < numVertices; i++)
+				for (int neighbor : getNeighbors(i))
+					pushCollapse(i, neighbor);
+			this.error = 0.0;
+		}
+
+		private Set<Integer> getNeighbors(int vertex) {
+			Set<Integer> neighbors = new HashSet<>();
+			for (int triangle : this.incidence.get(vertex))
+				for (int corner = 0; corner < 3; corner++)
+					neighbors.add(this.indices[3 * triangle + corner]);
+			neighbors.remove(vertex);
+			return neighbors;
+		}
+
+		private int countShared(int u, int v) {
+			int count = 0;
+			for (int triangle : this.incidence.get(u))
+				if (this.incidence.get(v).contains(triangle))
+					count++;
+			return count;
+		}
+
+		private void push(int vertex) {
+			for (int neighbor : getNeighbors(vertex)) {
+				pushCollapse(vertex, neighbor);
+				pushCollapse(neighbor, vertex);
+			}
+		}
+
+		private void pushCollapse(int from, int to) {
+			if (this.boundaries[from] || this.seams[from] && !this.seams[to])
+				return;
+			float[][] positions = MdlLodGenerator.this.positions;
+			double cost = 0.0;
+			for (int frame = 0; frame < positions.length; frame++)
+				cost += evaluate(this.quadrics[frame], 10 * from, positions[frame], to)
+						+ evaluate(this.quadrics[frame], 10 * to, positions[frame], to);
+			this.queue.add(new Collapse(from, to, Math.max(0.0, cost), this.versions[from], this.versions[to]));
+		}
+
+		private boolean isValid(int from, int to) {
+			Set<Integer> fromNeighbors = getNeighbors(from);
+			if (!fromNeighbors.contains(to))
+				return false;
+			int common = 0;
+			for (int neighbor : getNeighbors(to))
+				if (fromNeighbors.contains(neighbor))
+					common++;
+			if (common != countShared(from, to))
+				return false;
+			for (float[] positions : MdlLodGenerator.this.positions)
+				for (int triangle : this.incidence.get(from)) {
+					int a = this.indices[3 * triangle + 0];
+					int b = this.indices[3 * triangle + 1];
+					int c = this.indices[3 * triangle + 2];
+					if (a == to || b == to || c == to)
+						continue;
+					double[] before = getNormal(positions, a, b, c);
+					double[] after = getNormal(positions, a == from ? to : a, b == from ? to : b, c == from ? to : c);
+					if (before[0] * after[0] + before[1] * after[1] + before[2] * after[2] <= 0.0)
+						return false;
+				}
+			return true;
+		}
+
+		private double[] getNormal(float[] positions, int a, int b, int c) {
+			double e1x = positions[3 * b + 0] - positions[3 * a + 0];
+			double e1y = positions[3 * b + 1] - positions[3 * a + 1];
+			double e1z = positions[3 * b + 2] - positions[3 * a + 2];
+			double e2x = positions[3 * c + 0] - positions[3 * a + 0];
+			double e2y = positions[3 * c + 1] - positions[3 * a + 1];
+			double e2z = positions[3 * c + 2] - positions[3 * a + 2];
+			return new double[] { e1y * e2z - e1z * e2y, e1z * e2x - e1x * e2z, e1x * e2y - e1y * e2x };
+		}
+
+		private void collapse(int targetTriangles) {
+			while (this.numTriangles > targetTriangles && !this.queue.isEmpty()) {
+				Collapse collapse = this.queue.poll();
+				int from = collapse.from;
+				int to = collapse.to;
+				if (collapse.fromVersion != this.versions[from] || collapse.toVersion != this.versions[to] || !isValid(from, to))
+					continue;
+				for (int triangle : new ArrayList<>(this.incidence.get(from))) {
+					boolean degenerate = false;
+					for (int corner = 0; corner < 3; corner++)
+						if (this.indices[3 * triangle + corner] == to)
+							degenerate = true;
+					if (degenerate) {
+						this.removed[triangle] = true;
+						this.numTriangles--;
+						for (int corner = 0; corner < 3; corner++)
+							this.incidence.get(this.indices[3 * triangle + corner]).remove(triangle);
+					} else {
+						for (int corner = 0; corner < 3; corner++)
+							if (this.indices[3 * triangle + corner] == from)
+								this.indices[3 * triangle + corner] = to;
+						this.incidence.get(to).add(triangle);
+					}
+				}
+				this.incidence.get(from).clear();
+				for (double[] quadrics : this.quadrics)
+					for (int j = 0; j < 10; j++)
+						quadrics[10 * to + j] += quadrics[10 * from + j];
+				this.versions[from]++;
+				this.versions[to]++;
+				this.error = Math.max(this.error, collapse.cost);
+				push(to);
+			}
+		}
+
+		private MdlLod snapshot(float screenSize) {
+			MdlTriangle[] triangles = new MdlTriangle[this.numTriangles];
+			Set<Integer> vertices = new TreeSet<>();
+			int index = 0;
+			for (int i = 0; i < this.removed.length; i++)
+				if (!this.removed[i]) {
+					int[] triangle = { this.indices[3 * i + 0], this.indices[3 * i + 1], this.indices[3 * i + 2] };
+					triangles[index++] = new MdlTriangle(this.fronts[i], triangle);
+					for (int vertex : triangle)
+						vertices.add(vertex);
+				}
+			int[] subset = new int[vertices.size()];
+			index = 0;
+			for (int vertex : vertices)
+				subset[index++] = vertex;
+			return new MdlLod(triangles, subset, screenSize, (float) this.error);
+		}
+
+	}
+
+	private static class Collapse implements Comparable<Collapse> {
+
+		private final int from;
+		private final int to;
+		private final double cost;
+		private final int fromVersion;
+		private final int toVersion;
+
+		private Collapse(int from, int to, double cost, int fromVersion, int toVersion) {
+			this.from = from;
+			this.to = to;
+			this.cost = cost;
+			this.fromVersion = fromVersion;
+			this.toVersion = toVersion;
+		}
+
+		@Override
+		public int compareTo(Collapse other) {
+			return Double.compare(this.cost, other.cost);
+		}
+
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.kaba4cow.mdlmodel;
+
+/**
+ * Represents the mipmap chain of an {@link MdlTexture}. Level {@code 0} is the texture itself, and each following level halves
+ * the width and height of the previous one down to a single pixel. Every level is stored as palette indices and, optionally,
+ * as RGBA pixels.
+ */
+public class MdlMipChain {
+
+	private final int[] widths;
+	private final int[] heights;
+	private final byte[][] indices;
+	private final byte[][] rgba;
+
+	MdlMipChain(int[] widths, int[] heights, byte[][] indices, byte[][] rgba) {
+		this.widths = widths;
+		this.heights = heights;
+		this.indices = indices;
+		this.rgba = rgba;
+	}
+
+	/**
+	 * Gets the number of levels in the chain, including the base level.
+	 * 
+	 * @return the number of levels
+	 */
+	public int getNumLevels() {
+		return this.indices.length;
+	}
+
+	/**
+	 * Gets the width of a level.
+	 * 
+	 * @param level the index of the level
+	 * 
+	 * @return the width in pixels
+	 */
+	public int getWidth(int level) {
+		return this.widths[level];
+	}
+
+	/**
+	 * Gets the height of a level.
+	 * 
+	 * @param level the index of the level
+	 * 
+	 * @return the height in pixels
+	 */
+	public int getHeight(int level) {
+		return this.heights[level];
+	}
+
+	/**
+	 * Gets the palette indices of a level.
+	 * 
+	 * @param level the index of the level
+	 * 
+	 * @return a byte array containing the palette index for each pixel
+	 */
+	public byte[] getIndices(int level) {
+		return this.indices[level];
+	}
+
+	/**
+	 * Checks if the chain contains RGBA pixels.
+	 * 
+	 * @return {@code true} if RGBA pixels were generated, {@code false} otherwise
+	 */
+	public boolean hasRgba() {
+		return this.rgba != null;
+	}
+
+	/**
+	 * Gets the RGBA pixels of a level.
+	 * 
+	 * @param level the index of the level
+	 * 
+	 * @return a byte array containing the red, green, blue and alpha components of each pixel, or {@code null} if RGBA pixels
+	 *         were not generated
+	 */
+	public byte[] getRgba(int level) {
+		return this.rgba == null ? null : this.rgba[level];
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlMipChain [width=%s, height=%s, numLevels=%s, rgba=%s]", this.widths[0], this.heights[0],
+				getNumLevels(), hasRgba());
+	}
+
+}
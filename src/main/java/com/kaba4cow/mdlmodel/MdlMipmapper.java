@@ -0,0 +1,119 @@
+package com.kaba4cow.mdlmodel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates mipmap chains for the textures of {@code MDL} models directly in palette space. Each level is box-filtered from the
+ * colors of the previous level and mapped back to palette indices through the lookup table of an {@link MdlPalette}, avoiding
+ * a search of the whole palette for every pixel.
+ */
+public class MdlMipmapper {
+
+	private final MdlPalette palette;
+	private final boolean rgba;
+
+	/**
+	 * Constructs a new {@code MdlMipmapper}.
+	 * 
+	 * @param palette the {@link MdlPalette} the textures are indexed into
+	 * @param rgba    whether RGBA pixels should be generated alongside palette indices
+	 */
+	public MdlMipmapper(MdlPalette palette, boolean rgba) {
+		this.palette = palette;
+		this.rgba = rgba;
+	}
+
+	/**
+	 * Generates the mipmap chain of a single texture. The result is not stored in the texture.
+	 * 
+	 * @param texture the {@link MdlTexture} to generate the chain for
+	 * 
+	 * @return the generated {@link MdlMipChain}
+	 */
+	public MdlMipChain generate(MdlTexture texture) {
+		int width = texture.getWidth();
+		int height = texture.getHeight();
+		int numLevels = 1;
+		while ((width >> numLevels) > 0 || (height >> numLevels) > 0)
+			numLevels++;
+		int[] widths = new int[numLevels];
+		int[] heights = new int[numLevels];
+		byte[][] indices = new byte[numLevels][];
+		byte[][] rgba = this.rgba ? new byte[numLevels][] : null;
+
+		widths[0] = width;
+		heights[0] = height;
+		indices[0] = texture.getIndices();
+		int[] colors = new int[width * height];
+		for (int i = 0; i < colors.length; i++)
+			colors[i] = this.palette.getColor(indices[0][i]);
+		if (this.rgba)
+			rgba[0] = this.palette.toRgba(indices[0]);
+
+		for (int level = 1; level < numLevels; level++) {
+			int sourceWidth = widths[level - 1];
+			int sourceHeight = heights[level - 1];
+			int targetWidth = Math.max(1, sourceWidth >> 1);
+			int targetHeight = Math.max(1, sourceHeight >> 1);
+			int[] targetColors = new int[targetWidth * targetHeight];
+			byte[] targetIndices = new byte[targetWidth * targetHeight];
+			byte[] targetRgba = this.rgba ? new byte[4 * targetWidth * targetHeight] : null;
+			for (int y = 0; y < targetHeight; y++) {
+				int y0 = Math.min(2 * y, sourceHeight - 1) * sourceWidth;
+				int y1 = Math.min(2 * y + 1, sourceHeight - 1) * sourceWidth;
+				for (int x = 0; x < targetWidth; x++) {
+					int x0 = Math.min(2 * x, sourceWidth - 1);
+					int x1 = Math.min(2 * x + 1, sourceWidth - 1);
+					int c00 = colors[y0 + x0];
+					int c01 = colors[y0 + x1];
+					int c10 = colors[y1 + x0];
+					int c11 = colors[y1 + x1];
+					int r = ((c00 >> 16 & 0xFF) + (c01 >> 16 & 0xFF) + (c10 >> 16 & 0xFF) + (c11 >> 16 & 0xFF) + 2) >> 2;
+					int g = ((c00 >> 8 & 0xFF) + (c01 >> 8 & 0xFF) + (c10 >> 8 & 0xFF) + (c11 >> 8 & 0xFF) + 2) >> 2;
+					int b = ((c00 & 0xFF) + (c01 & 0xFF) + (c10 & 0xFF) + (c11 & 0xFF) + 2) >> 2;
+					int pixel = y * targetWidth + x;
+					targetColors[pixel] = r << 16 | g << 8 | b;
+					targetIndices[pixel] = (byte) this.palette.findNearest(r, g, b);
+					if (this.rgba) {
+						targetRgba[4 * pixel + 0] = (byte) r;
+						targetRgba[4 * pixel + 1] = (byte) g;
+						targetRgba[4 * pixel + 2] = (byte) b;
+						targetRgba[4 * pixel + 3] = (byte) 0xFF;
+					}
+				}
+			}
+			widths[level] = targetWidth;
+			heights[level] = targetHeight;
+			indices[level] = targetIndices;
+			if (this.rgba)
+				rgba[level] = targetRgba;
+			colors = targetColors;
+		}
+		return new MdlMipChain(widths, heights, indices, rgba);
+	}
+
+	/**
+	 * Generates the mipmap chains of all textures in all texture groups of a model in parallel, and stores each chain in its
+	 * texture where it can be retrieved with {@link MdlTexture#getMipChain()}.
+	 * 
+	 * @param model the {@link MdlModel} to generate the chains for
+	 */
+	public void generate(MdlModel model) {
+		List<MdlTexture> textures = new ArrayList<>();
+		for (MdlTextureGroup textureGroup : model.getTextureGroups())
+			for (MdlTexture texture : textureGroup.getTextures())
+				textures.add(texture);
+		textures.parallelStream().forEach(texture -> texture.setMipChain(generate(texture)));
+	}
+
+	/**
+	 * Gets the palette the textures are indexed into.
+	 * 
+	 * @return the {@link MdlPalette}
+	 */
+	public MdlPalette getPalette() {
+		return this.palette;
+	}
+
+}
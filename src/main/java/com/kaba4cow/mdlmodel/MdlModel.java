@@ -37,6 +37,10 @@ public class MdlModel {
 	private final int numFrameGroups;
 	private final MdlFrameGroup[] frameGroups;
 
+	private final MdlFrameIndex frameIndex;
+
+	private final MdlHash hash;
+
 	/**
 	 * Constructs a new {@code MDLModel} by reading model data from an input stream. Validates the file format identifier
 	 * {@code IDPO} and version number {@code 6}.
@@ -47,8 +51,24 @@ public class MdlModel {
 	 * @throws IllegalArgumentException if the file identifier is not "IDPO" or version is not 6
 	 */
 	public MdlModel(InputStream input) throws IOException {
-		try (BinaryReader reader = new BinaryReader(input)) {
-			reader.setOrder(ByteOrder.LITTLE_ENDIAN);
+		this(input, null);
+	}
+
+	/**
+	 * Constructs a new {@code MDLModel} by reading model data from an input stream, sharing identical frame vertices, texture
+	 * indices, texture coordinates and triangles with other models read through the same interner. Validates the file format
+	 * identifier {@code IDPO} and version number {@code 6}.
+	 * 
+	 * @param input    the {@link InputStream} containing MDL model data
+	 * @param interner the {@link MdlInterner} holding canonical copies of model data, or {@code null} to disable sharing
+	 * 
+	 * @throws IOException              if an I/O error occurs
+	 * @throws IllegalArgumentException if the file identifier is not "IDPO" or version is not 6
+	 */
+	public MdlModel(InputStream input, MdlInterner interner) throws IOException {
+		try (BinaryReader binaryReader = new BinaryReader(input)) {
+			binaryReader.setOrder(ByteOrder.LITTLE_ENDIAN);
+			MdlReader reader = new MdlReader(binaryReader);
 			String identifier = reader.readStringFixed(4);
 			if (!"IDPO".equals(identifier))
 				throw new IllegalArgumentException(String.format("Unsupported identifier: %s", identifier));
@@ -72,22 +92,60 @@ public class MdlModel {
 			this.syncType = reader.readInt();
 			this.flags = reader.readInt();
 			this.size = reader.readFloat();
+			long headerHash = reader.endSection();
 
 			this.textureGroups = new MdlTextureGroup[this.numTextureGroups];
 			for (int i = 0; i < this.numTextureGroups; i++)
-				this.textureGroups[i] = new MdlTextureGroup(this.textureWidth, this.textureHeight, reader);
-			this.textureCoords = new MdlTextureCoord[this.numVertices];
-			for (int i = 0; i < this.numVertices; i++)
-				this.textureCoords[i] = new MdlTextureCoord(reader);
-			this.triangles = new MdlTriangle[this.numTriangles];
-			for (int i = 0; i < this.numTriangles; i++)
-				this.triangles[i] = new MdlTriangle(reader);
+				this.textureGroups[i] = new MdlTextureGroup(this.textureWidth, this.textureHeight, reader, interner);
+			long skinsHash = reader.endSection();
+			int[] packedTextureCoords = reader.readIntArray(3 * this.numVertices);
+			this.textureCoords = interner == null ? MdlTextureCoord.decode(packedTextureCoords)
+					: interner.internTextureCoords(packedTextureCoords);
+			long textureCoordsHash = reader.endSection();
+			int[] packedTriangles = reader.readIntArray(4 * this.numTriangles);
+			this.triangles = interner == null ? MdlTriangle.decode(packedTriangles) : interner.internTriangles(packedTriangles);
+			long trianglesHash = reader.endSection();
 			this.frameGroups = new MdlFrameGroup[this.numFrameGroups];
-			for (int i = 0; i < this.numFrameGroups; i++)
-				this.frameGroups[i] = new MdlFrameGroup(this.numVertices, reader);
+			long[] frameGroupHashes = new long[this.numFrameGroups];
+			for (int i = 0; i < this.numFrameGroups; i++) {
+				this.frameGroups[i] = new MdlFrameGroup(this.numVertices, reader, interner);
+				frameGroupHashes[i] = reader.endSection();
+			}
+			this.hash = new MdlHash(headerHash, skinsHash, textureCoordsHash, trianglesHash, frameGroupHashes);
+			this.frameIndex = new MdlFrameIndex(this.frameGroups);
 		}
 	}
 
+	MdlModel(MdlModel model, MdlModel previous) {
+		MdlHash hash = model.hash;
+		MdlHash previousHash = previous.hash;
+		this.scale = model.scale;
+		this.translation = model.translation;
+		this.eyePosition = model.eyePosition;
+		this.boundingRadius = model.boundingRadius;
+		this.size = model.size;
+		this.syncType = model.syncType;
+		this.flags = model.flags;
+		this.textureWidth = model.textureWidth;
+		this.textureHeight = model.textureHeight;
+		this.numTextureGroups = model.numTextureGroups;
+		this.numVertices = model.numVertices;
+		this.numTriangles = model.numTriangles;
+		this.numFrameGroups = model.numFrameGroups;
+
+		boolean sameSkinSize = model.textureWidth == previous.textureWidth && model.textureHeight == previous.textureHeight;
+		this.textureGroups = sameSkinSize && hash.getSkins() == previousHash.getSkins() ? previous.textureGroups
+				: model.textureGroups;
+		this.textureCoords = hash.getTextureCoords() == previousHash.getTextureCoords() ? previous.textureCoords
+				: model.textureCoords;
+		this.triangles = hash.getTriangles() == previousHash.getTriangles() ? previous.triangles : model.triangles;
+		this.frameGroups = new MdlFrameGroup[this.numFrameGroups];
+		for (int i = 0; i < this.numFrameGroups; i++)
+			this.frameGroups[i] = hash.isFrameGroupChanged(previousHash, i) ? model.frameGroups[i] : previous.frameGroups[i];
+		this.hash = hash;
+		this.frameIndex = new MdlFrameIndex(this.frameGroups);
+	}
+
 	/**
 	 * Gets the model's scale vector.
 	 * 
@@ -241,4 +299,56 @@ public class MdlModel {
 		return this.frameGroups;
 	}
 
+	/**
+	 * Gets the name index over all frames of the model, including the animation sequences discovered from frame names.
+	 * 
+	 * @return the {@link MdlFrameIndex} of the model
+	 */
+	public MdlFrameIndex getFrameIndex() {
+		return this.frameIndex;
+	}
+
+	/**
+	 * Gets the content hash of the model, computed per section while the model was read.
+	 * 
+	 * @return the {@link MdlHash} of the model
+	 */
+	public MdlHash getHash() {
+		return this.hash;
+	}
+
+	/**
+	 * Decompresses the vertices of a frame into model space by applying the model's scale and translation.
+	 * 
+	 * @param frame the {@link MdlFrame} to decompress
+	 * 
+	 * @return a float array containing the x, y, z components of each vertex
+	 */
+	public float[] decompress(MdlFrame frame) {
+		return decompress(frame, frame, 0.0f);
+	}
+
+	/**
+	 * Decompresses the vertices of two frames into model space and linearly interpolates between them.
+	 * 
+	 * @param from   the {@link MdlFrame} at blend factor {@code 0}
+	 * @param to     the {@link MdlFrame} at blend factor {@code 1}
+	 * @param factor the blend factor between the two frames
+	 * 
+	 * @return a float array containing the x, y, z components of each interpolated vertex
+	 */
+	public float[] decompress(MdlFrame from, MdlFrame to, float factor) {
+		MdlVertex[] fromVertices = from.getVertices();
+		MdlVertex[] toVertices = to.getVertices();
+		float[] positions = new float[3 * this.numVertices];
+		for (int i = 0; i < this.numVertices; i++) {
+			MdlVertex a = fromVertices[i];
+			MdlVertex b = toVertices[i];
+			positions[3 * i + 0] = this.scale.getX() * (a.getX() + factor * (b.getX() - a.getX())) + this.translation.getX();
+			positions[3 * i + 1] = this.scale.getY() * (a.getY() + factor * (b.getY() - a.getY())) + this.translation.getY();
+			positions[3 * i + 2] = this.scale.getZ() * (a.getZ() + factor * (b.getZ() - a.getZ())) + this.translation.getZ();
+		}
+		return positions;
+	}
+
 }
@@ -0,0 +1,81 @@
+package com.kaba4cow.mdlmodel;
+
+import java.nio.file.Path;
+
+/**
+ * Holds the current version of an {@code MDL} model loaded from a file watched by an {@link MdlModelWatcher}. The model is
+ * replaced atomically when the file changes, so readers such as a render thread always see a complete model.
+ */
+public class MdlModelHolder {
+
+	private final Path path;
+
+	private volatile MdlModel model;
+	private volatile Exception error;
+
+	private long requested;
+	private long applied;
+
+	MdlModelHolder(Path path, MdlModel model) {
+		this.path = path;
+		this.model = model;
+		this.error = null;
+		this.requested = 0L;
+		this.applied = 0L;
+	}
+
+	synchronized long request() {
+		return ++this.requested;
+	}
+
+	synchronized boolean update(long request, MdlModel model) {
+		if (request <= this.applied)
+			return false;
+		this.applied = request;
+		this.error = null;
+		MdlModel previous = this.model;
+		if (model.getHash().equals(previous.getHash()))
+			return false;
+		this.model = new MdlModel(model, previous);
+		return true;
+	}
+
+	synchronized void fail(long request, Exception error) {
+		if (request > this.applied)
+			this.error = error;
+	}
+
+	/**
+	 * Gets the path of the watched model file.
+	 * 
+	 * @return the {@link Path} of the file
+	 */
+	public Path getPath() {
+		return this.path;
+	}
+
+	/**
+	 * Gets the current version of the model. Sections that did not change between versions share their data with the previous
+	 * version.
+	 * 
+	 * @return the current {@link MdlModel}
+	 */
+	public MdlModel get() {
+		return this.model;
+	}
+
+	/**
+	 * Gets the error of the most recent failed reload. The previous version of the model is kept when a reload fails.
+	 * 
+	 * @return the {@link Exception} of the failed reload, or {@code null} if the most recent reload succeeded
+	 */
+	public Exception getError() {
+		return this.error;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlModelHolder [path=%s, model=%s]", this.path, this.model.getHash());
+	}
+
+}
@@ -0,0 +1,171 @@
+package com.kaba4cow.mdlmodel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches {@code MDL} model files and reloads them when they change. Bursts of file system events are debounced, changed files
+ * are parsed on a background executor, and the new version is swapped atomically into the file's {@link MdlModelHolder}.
+ * Sections whose content hash did not change keep the data of the previous version.
+ */
+public class MdlModelWatcher implements Closeable {
+
+	private final long debounceMillis;
+	private final Executor executor;
+	private final WatchService watchService;
+	private final ScheduledExecutorService scheduler;
+	private final Thread thread;
+
+	private final Map<Path, MdlModelHolder> holders;
+	private final Map<Path, WatchKey> directories;
+	private final Map<Path, ScheduledFuture<?>> pending;
+
+	/**
+	 * Constructs a new {@code MdlModelWatcher} that parses changed files on the common fork-join pool.
+	 * 
+	 * @param debounceMillis the delay in milliseconds after the last event of a file before it is reloaded
+	 * 
+	 * @throws IOException if the watch service cannot be created
+	 */
+	public MdlModelWatcher(long debounceMillis) throws IOException {
+		this(debounceMillis, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructs a new {@code MdlModelWatcher} that parses changed files on the specified executor.
+	 * 
+	 * @param debounceMillis the delay in milliseconds after the last event of a file before it is reloaded
+	 * @param executor       the {@link Executor} used to parse changed files
+	 * 
+	 * @throws IOException if the watch service cannot be created
+	 */
+	public MdlModelWatcher(long debounceMillis, Executor executor) throws IOException {
+		this.debounceMillis = debounceMillis;
+		this.executor = executor;
+		this.watchService = FileSystems.getDefault().newWatchService();
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "MdlModelWatcher-scheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.holders = new ConcurrentHashMap<>();
+		this.directories = new ConcurrentHashMap<>();
+		this.pending = new ConcurrentHashMap<>();
+		this.thread = new Thread(this::watch, "MdlModelWatcher");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Loads a model file and starts watching it for changes. Registering the same file again returns the existing holder.
+	 * 
+	 * @param path the {@link Path} of the model file
+	 * 
+	 * @return the {@link MdlModelHolder} that receives new versions of the model
+	 * 
+	 * @throws IOException              if an I/O error occurs
+	 * @throws IllegalArgumentException if the file is not a supported {@code MDL} file
+	 */
+	public MdlModelHolder register(Path path) throws IOException {
+		Path file = path.toAbsolutePath().normalize();
+		MdlModelHolder holder = this.holders.get(file);
+		if (holder != null)
+			return holder;
+		Path directory = file.getParent();
+		if (!this.directories.containsKey(directory))
+			this.directories.put(directory, directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY));
+		MdlModelHolder created = new MdlModelHolder(file, load(file));
+		holder = this.holders.putIfAbsent(file, created);
+		return holder == null ? created : holder;
+	}
+
+	/**
+	 * Stops watching a model file. The holder keeps its current model.
+	 * 
+	 * @param path the {@link Path} of the model file
+	 */
+	public void unregister(Path path) {
+		Path file = path.toAbsolutePath().normalize();
+		this.holders.remove(file);
+		ScheduledFuture<?> future = this.pending.remove(file);
+		if (future != null)
+			future.cancel(false);
+	}
+
+	private static MdlModel load(Path file) throws IOException {
+		try (InputStream input = Files.newInputStream(file)) {
+			return new MdlModel(input);
+		}
+	}
+
+	private void watch() {
+		try {
+			while (true) {
+				WatchKey key = this.watchService.take();
+				Path directory = (Path) key.watchable();
+				for (WatchEvent<?> event : key.pollEvents())
+					if (event.kind() != StandardWatchEventKinds.OVERFLOW)
+						schedule(directory.resolve((Path) event.context()));
+					else
+						for (Path file : this.holders.keySet())
+							if (file.getParent().equals(directory))
+								schedule(file);
+				key.reset();
+			}
+		} catch (InterruptedException | ClosedWatchServiceException exception) {
+			return;
+		}
+	}
+
+	private void schedule(Path file) {
+		MdlModelHolder holder = this.holders.get(file);
+		if (holder == null)
+			return;
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> reload(file, holder), this.debounceMillis, TimeUnit.MILLISECONDS);
+		ScheduledFuture<?> previous = this.pending.put(file, future);
+		if (previous != null)
+			previous.cancel(false);
+	}
+
+	private void reload(Path file, MdlModelHolder holder) {
+		long request = holder.request();
+		this.executor.execute(() -> {
+			try {
+				holder.update(request, load(file));
+			} catch (IOException | RuntimeException exception) {
+				holder.fail(request, exception);
+			}
+		});
+	}
+
+	/**
+	 * Stops watching all files and releases the watch service. Reloads that are already running complete normally.
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		this.scheduler.shutdownNow();
+		this.watchService.close();
+		this.thread.interrupt();
+	}
+
+}
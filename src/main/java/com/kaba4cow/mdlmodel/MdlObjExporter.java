@@ -0,0 +1,194 @@
+package com.kaba4cow.mdlmodel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Exports a single frame of an {@code MDL} model to Wavefront {@code .obj} files. Positions, normals and texture coordinates
+ * are formatted straight into a fixed-size byte buffer without intermediate collections or per-line string formatting, texture
+ * coordinates of seam vertices are duplicated for back-facing triangles, and faces are rewound from the clockwise front faces
+ * of Quake to the counter-clockwise front faces of OBJ.
+ */
+public class MdlObjExporter implements MdlExporter {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final int frame;
+
+	/**
+	 * Constructs a new {@code MdlObjExporter} that exports the first frame of each model.
+	 */
+	public MdlObjExporter() {
+		this(0);
+	}
+
+	/**
+	 * Constructs a new {@code MdlObjExporter} that exports the specified frame of each model.
+	 * 
+	 * @param frame the index of the frame in the model's {@link MdlFrameIndex}
+	 */
+	public MdlObjExporter(int frame) {
+		this.frame = frame;
+	}
+
+	@Override
+	public void export(MdlModel model, OutputStream output) throws IOException {
+		export(MdlExportSource.of(model), output);
+	}
+
+	/**
+	 * Converts a model file to OBJ directly from the memory-mapped file, without building an {@link MdlModel}.
+	 * 
+	 * @param input  the {@link Path} of the model file
+	 * @param output the {@link OutputStream} to write to
+	 * 
+	 * @throws IOException              if an I/O error occurs or the file is truncated
+	 * @throws IllegalArgumentException if the file is not a supported {@code MDL} model
+	 */
+	@Override
+	public void export(Path input, OutputStream output) throws IOException {
+		export(MdlExportSource.map(input), output);
+	}
+
+	private void export(MdlExportSource source, OutputStream output) throws IOException {
+		if (this.frame < 0 || this.frame >= source.getNumFrames())
+			throw new IllegalArgumentException(String.format("Unsupported frame index: %s", this.frame));
+		AsciiOutput ascii = new AsciiOutput(output);
+		int numVertices = source.getNumVertices();
+		int width = source.getTextureWidth();
+		int height = source.getTextureHeight();
+		byte[] packed = new byte[4 * numVertices];
+		source.readFrame(this.frame, packed);
+
+		ascii.write("o ");
+		ascii.write(source.getFrameName(this.frame));
+		ascii.write('\n');
+		for (int i = 0; i < numVertices; i++) {
+			ascii.write('v');
+			for (int axis = 0; axis < 3; axis++) {
+				ascii.write(' ');
+				ascii.write(source.getScale(axis) * (packed[4 * i + axis] & 0xFF) + source.getTranslation(axis));
+			}
+			ascii.write('\n');
+		}
+		for (int i = 0; i < numVertices; i++) {
+			float[] normal = MdlNormals.getNormal(packed[4 * i + 3] & 0xFF);
+			ascii.write("vn");
+			for (int axis = 0; axis < 3; axis++) {
+				ascii.write(' ');
+				ascii.write(normal[axis]);
+			}
+			ascii.write('\n');
+		}
+		for (int side = 0; side < 2; side++)
+			for (int i = 0; i < numVertices; i++) {
+				ascii.write("vt ");
+				ascii.write((source.getS(i) + side * (width / 2) + 0.5f) / width);
+				ascii.write(' ');
+				ascii.write(1.0f - (source.getT(i) + 0.5f) / height);
+				ascii.write('\n');
+			}
+		for (int triangle = 0; triangle < source.getNumTriangles(); triangle++) {
+			ascii.write('f');
+			for (int corner = 2; corner >= 0; corner--) {
+				int vertex = source.getVertex(triangle, corner);
+				int textureCoord = !source.isFront(triangle) && source.isSeam(vertex) ? numVertices + vertex : vertex;
+				ascii.write(' ');
+				ascii.write(vertex + 1);
+				ascii.write('/');
+				ascii.write(textureCoord + 1);
+				ascii.write('/');
+				ascii.write(vertex + 1);
+			}
+			ascii.write('\n');
+		}
+		ascii.flush();
+		output.flush();
+	}
+
+	@Override
+	public String getExtension() {
+		return "obj";
+	}
+
+	private static class AsciiOutput {
+
+		private static final int FRACTION_DIGITS = 6;
+		private static final double FRACTION_SCALE = 1e6;
+
+		private final OutputStream output;
+		private final byte[] buffer;
+		private final byte[] digits;
+
+		private int position;
+
+		private AsciiOutput(OutputStream output) {
+			this.output = output;
+			this.buffer = new byte[BUFFER_SIZE];
+			this.digits = new byte[20];
+			this.position = 0;
+		}
+
+		private void write(char value) throws IOException {
+			if (this.position == this.buffer.length)
+				flush();
+			this.buffer[this.position++] = (byte) value;
+		}
+
+		private void write(String value) throws IOException {
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				write(c < 0x20 || c > 0x7E ? '_' : c);
+			}
+		}
+
+		private void write(long value) throws IOException {
+			if (value < 0L) {
+				write('-');
+				value = -value;
+			}
+			writeDigits(value, 1);
+		}
+
+		private void write(float value) throws IOException {
+			if (Float.isNaN(value) || Math.abs(value) >= 1e12f) {
+				write(Float.toString(value));
+				return;
+			}
+			long scaled = Math.round(value * FRACTION_SCALE);
+			if (scaled < 0L) {
+				write('-');
+				scaled = -scaled;
+			}
+			long fraction = scaled % (long) FRACTION_SCALE;
+			writeDigits(scaled / (long) FRACTION_SCALE, 1);
+			if (fraction != 0L) {
+				int numDigits = FRACTION_DIGITS;
+				while (fraction % 10L == 0L) {
+					fraction /= 10L;
+					numDigits--;
+				}
+				write('.');
+				writeDigits(fraction, numDigits);
+			}
+		}
+
+		private void writeDigits(long value, int minDigits) throws IOException {
+			int length = 0;
+			do {
+				this.digits[length++] = (byte) ('0' + value % 10L);
+				value /= 10L;
+			} while (value > 0L || length < minDigits);
+			while (length > 0)
+				write((char) this.digits[--length]);
+		}
+
+		private void flush() throws IOException {
+			this.output.write(this.buffer, 0, this.position);
+			this.position = 0;
+		}
+
+	}
+
+}
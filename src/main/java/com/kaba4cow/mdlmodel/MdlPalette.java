@@ -0,0 +1,214 @@
+package com.kaba4cow.mdlmodel;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Represents a 256-color palette used to expand the indexed textures of {@code MDL} models, such as the {@code palette.lmp}
+ * file of <b>Quake I</b>. A lookup table mapping quantized RGB colors to their nearest palette index is precomputed, so colors
+ * can be converted back to palette indices in constant time. The search can be limited to a range of indices, for example to
+ * keep averaged colors from mapping to the fullbright colors of the <b>Quake I</b> palette, which are drawn unlit by the
+ * software renderer.
+ */
+public class MdlPalette {
+
+	private static final int NUM_COLORS = 256;
+	private static final int TABLE_BITS = 5;
+	private static final int TABLE_SIZE = 1 << TABLE_BITS;
+
+	/**
+	 * The first fullbright index of the <b>Quake I</b> palette. Indices from this one up to {@code 255} are drawn unlit.
+	 */
+	public static final int FIRST_FULLBRIGHT = 224;
+
+	private final int[] colors;
+	private final byte[] nearest;
+	private final int firstIndex;
+	private final int lastIndex;
+
+	/**
+	 * Constructs a new {@code MdlPalette} from packed RGB data, searching all palette indices for nearest colors.
+	 * 
+	 * @param rgb an array of 768 bytes containing the red, green and blue components of each color
+	 * 
+	 * @throws IllegalArgumentException if the array does not contain 768 bytes
+	 */
+	public MdlPalette(byte[] rgb) {
+		this(rgb, 0, NUM_COLORS - 1);
+	}
+
+	/**
+	 * Constructs a new {@code MdlPalette} from packed RGB data, searching only a range of palette indices for nearest colors.
+	 * Use {@code new MdlPalette(rgb, 0, MdlPalette.FIRST_FULLBRIGHT - 1)} to exclude the fullbright colors of <b>Quake I</b>.
+	 * 
+	 * @param rgb        an array of 768 bytes containing the red, green and blue components of each color
+	 * @param firstIndex the first palette index returned by {@link #findNearest(int, int, int)}
+	 * @param lastIndex  the last palette index returned by {@link #findNearest(int, int, int)}, inclusive
+	 * 
+	 * @throws IllegalArgumentException if the array does not contain 768 bytes or the index range is invalid
+	 */
+	public MdlPalette(byte[] rgb, int firstIndex, int lastIndex) {
+		if (rgb.length != 3 * NUM_COLORS)
+			throw new IllegalArgumentException(String.format("Unsupported palette size: %s", rgb.length));
+		if (firstIndex < 0 || lastIndex >= NUM_COLORS || firstIndex > lastIndex)
+			throw new IllegalArgumentException(String.format("Unsupported index range: %s-%s", firstIndex, lastIndex));
+		this.firstIndex = firstIndex;
+		this.lastIndex = lastIndex;
+		this.colors = new int[NUM_COLORS];
+		for (int i = 0; i < NUM_COLORS; i++)
+			this.colors[i] = (rgb[3 * i] & 0xFF) << 16 | (rgb[3 * i + 1] & 0xFF) << 8 | (rgb[3 * i + 2] & 0xFF);
+		this.nearest = new byte[TABLE_SIZE * TABLE_SIZE * TABLE_SIZE];
+		int shift = 8 - TABLE_BITS;
+		int half = 1 << (shift - 1);
+		for (int r = 0; r < TABLE_SIZE; r++)
+			for (int g = 0; g < TABLE_SIZE; g++)
+				for (int b = 0; b < TABLE_SIZE; b++)
+					this.nearest[(r << TABLE_BITS | g) << TABLE_BITS | b] = (byte) search((r << shift) + half, (g << shift) + half,
+							(b << shift) + half);
+	}
+
+	/**
+	 * Constructs a new {@code MdlPalette} by reading 768 bytes of packed RGB data from an input stream.
+	 * 
+	 * @param input the {@link InputStream} containing palette data
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 */
+	public MdlPalette(InputStream input) throws IOException {
+		this(readColors(input));
+	}
+
+	/**
+	 * Constructs a new {@code MdlPalette} by reading 768 bytes of packed RGB data from an input stream, searching only a range
+	 * of palette indices for nearest colors.
+	 * 
+	 * @param input      the {@link InputStream} containing palette data
+	 * @param firstIndex the first palette index returned by {@link #findNearest(int, int, int)}
+	 * @param lastIndex  the last palette index returned by {@link #findNearest(int, int, int)}, inclusive
+	 * 
+	 * @throws IOException              if an I/O error occurs
+	 * @throws IllegalArgumentException if the index range is invalid
+	 */
+	public MdlPalette(InputStream input, int firstIndex, int lastIndex) throws IOException {
+		this(readColors(input), firstIndex, lastIndex);
+	}
+
+	private static byte[] readColors(InputStream input) throws IOException {
+		byte[] rgb = new byte[3 * NUM_COLORS];
+		new DataInputStream(input).readFully(rgb);
+		return rgb;
+	}
+
+	private int search(int r, int g, int b) {
+		int index = this.firstIndex;
+		int distance = Integer.MAX_VALUE;
+		for (int i = this.firstIndex; i <= this.lastIndex; i++) {
+			int dr = r - getRed(i);
+			int dg = g - getGreen(i);
+			int db = b - getBlue(i);
+			int current = dr * dr + dg * dg + db * db;
+			if (current < distance) {
+				distance = current;
+				index = i;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Finds the palette index nearest to a color within the search range using the precomputed lookup table.
+	 * 
+	 * @param r the red component (0-255)
+	 * @param g the green component (0-255)
+	 * @param b the blue component (0-255)
+	 * 
+	 * @return the nearest palette index (0-255)
+	 */
+	public int findNearest(int r, int g, int b) {
+		int shift = 8 - TABLE_BITS;
+		return this.nearest[((r >> shift) << TABLE_BITS | (g >> shift)) << TABLE_BITS | (b >> shift)] & 0xFF;
+	}
+
+	/**
+	 * Gets the first palette index of the nearest-color search range.
+	 * 
+	 * @return the first index (0-255)
+	 */
+	public int getFirstIndex() {
+		return this.firstIndex;
+	}
+
+	/**
+	 * Gets the last palette index of the nearest-color search range.
+	 * 
+	 * @return the last index (0-255), inclusive
+	 */
+	public int getLastIndex() {
+		return this.lastIndex;
+	}
+
+	/**
+	 * Gets the color at the specified palette index.
+	 * 
+	 * @param index the palette index (0-255)
+	 * 
+	 * @return the color packed as {@code 0xRRGGBB}
+	 */
+	public int getColor(int index) {
+		return this.colors[index & 0xFF];
+	}
+
+	/**
+	 * Gets the red component of the color at the specified palette index.
+	 * 
+	 * @param index the palette index (0-255)
+	 * 
+	 * @return the red component (0-255)
+	 */
+	public int getRed(int index) {
+		return getColor(index) >> 16 & 0xFF;
+	}
+
+	/**
+	 * Gets the green component of the color at the specified palette index.
+	 * 
+	 * @param index the palette index (0-255)
+	 * 
+	 * @return the green component (0-255)
+	 */
+	public int getGreen(int index) {
+		return getColor(index) >> 8 & 0xFF;
+	}
+
+	/**
+	 * Gets the blue component of the color at the specified palette index.
+	 * 
+	 * @param index the palette index (0-255)
+	 * 
+	 * @return the blue component (0-255)
+	 */
+	public int getBlue(int index) {
+		return getColor(index) & 0xFF;
+	}
+
+	/**
+	 * Expands palette indices into RGBA pixels.
+	 * 
+	 * @param indices a byte array containing a palette index for each pixel
+	 * 
+	 * @return a byte array containing the red, green, blue and alpha components of each pixel
+	 */
+	public byte[] toRgba(byte[] indices) {
+		byte[] rgba = new byte[4 * indices.length];
+		for (int i = 0; i < indices.length; i++) {
+			int color = getColor(indices[i]);
+			rgba[4 * i + 0] = (byte) (color >> 16);
+			rgba[4 * i + 1] = (byte) (color >> 8);
+			rgba[4 * i + 2] = (byte) color;
+			rgba[4 * i + 3] = (byte) 0xFF;
+		}
+		return rgba;
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.kaba4cow.mdlmodel;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Performs ray picking against the triangles of an {@code MDL} model. Bounding volume hierarchies are built lazily for each
+ * frame on first use and cached, and interpolated frames are handled by refitting the hierarchy of the source frame rather
+ * than building a new one.
+ */
+public class MdlPicker {
+
+	private final MdlModel model;
+	private final Map<MdlFrame, MdlBvh> hierarchies;
+
+	/**
+	 * Constructs a new {@code MdlPicker} for the specified model.
+	 * 
+	 * @param model the {@link MdlModel} to pick against
+	 */
+	public MdlPicker(MdlModel model) {
+		this.model = model;
+		this.hierarchies = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Gets the bounding volume hierarchy of a frame, building and caching it on first use.
+	 * 
+	 * @param frame the {@link MdlFrame} of the model
+	 * 
+	 * @return the {@link MdlBvh} fitted to the frame's vertices
+	 */
+	public MdlBvh getBvh(MdlFrame frame) {
+		return this.hierarchies.computeIfAbsent(frame, key -> new MdlBvh(this.model.getTriangles(), this.model.decompress(key)));
+	}
+
+	/**
+	 * Gets a bounding volume hierarchy for a frame interpolated between two frames. The cached hierarchy of the source frame
+	 * is refitted to the interpolated vertices; the result is not cached.
+	 * 
+	 * @param from   the {@link MdlFrame} at blend factor {@code 0}
+	 * @param to     the {@link MdlFrame} at blend factor {@code 1}
+	 * @param factor the blend factor between the two frames
+	 * 
+	 * @return the {@link MdlBvh} fitted to the interpolated vertices
+	 */
+	public MdlBvh getBvh(MdlFrame from, MdlFrame to, float factor) {
+		if (from == to || factor == 0.0f)
+			return getBvh(from);
+		return getBvh(from).refit(this.model.decompress(from, to, factor));
+	}
+
+	/**
+	 * Finds the nearest triangle of a frame hit by a ray.
+	 * 
+	 * @param frame     the {@link MdlFrame} of the model
+	 * @param origin    the x, y, z components of the ray origin in model space
+	 * @param direction the x, y, z components of the ray direction in model space
+	 * 
+	 * @return the nearest {@link MdlRayHit}, or {@code null} if the ray does not hit the model
+	 */
+	public MdlRayHit pick(MdlFrame frame, float[] origin, float[] direction) {
+		return getBvh(frame).intersect(origin, direction);
+	}
+
+	/**
+	 * Finds the nearest triangle of a frame interpolated between two frames hit by a ray.
+	 * 
+	 * @param from      the {@link MdlFrame} at blend factor {@code 0}
+	 * @param to        the {@link MdlFrame} at blend factor {@code 1}
+	 * @param factor    the blend factor between the two frames
+	 * @param origin    the x, y, z components of the ray origin in model space
+	 * @param direction the x, y, z components of the ray direction in model space
+	 * 
+	 * @return the nearest {@link MdlRayHit}, or {@code null} if the ray does not hit the model
+	 */
+	public MdlRayHit pick(MdlFrame from, MdlFrame to, float factor, float[] origin, float[] direction) {
+		return getBvh(from, to, factor).intersect(origin, direction);
+	}
+
+	/**
+	 * Gets the model this picker operates on.
+	 * 
+	 * @return the {@link MdlModel}
+	 */
+	public MdlModel getModel() {
+		return this.model;
+	}
+
+}
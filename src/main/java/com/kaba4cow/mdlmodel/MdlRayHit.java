@@ -0,0 +1,71 @@
+package com.kaba4cow.mdlmodel;
+
+/**
+ * Represents the result of a ray query against an {@link MdlBvh}. Contains the index of the hit triangle, the barycentric
+ * coordinates of the hit point and the distance along the ray.
+ */
+public class MdlRayHit {
+
+	private final int triangle;
+	private final float u;
+	private final float v;
+	private final float distance;
+
+	MdlRayHit(int triangle, float u, float v, float distance) {
+		this.triangle = triangle;
+		this.u = u;
+		this.v = v;
+		this.distance = distance;
+	}
+
+	/**
+	 * Gets the index of the hit triangle in the model's triangle array.
+	 * 
+	 * @return the triangle index
+	 */
+	public int getTriangle() {
+		return this.triangle;
+	}
+
+	/**
+	 * Gets the barycentric weight of the triangle's second vertex at the hit point.
+	 * 
+	 * @return the U barycentric coordinate
+	 */
+	public float getU() {
+		return this.u;
+	}
+
+	/**
+	 * Gets the barycentric weight of the triangle's third vertex at the hit point.
+	 * 
+	 * @return the V barycentric coordinate
+	 */
+	public float getV() {
+		return this.v;
+	}
+
+	/**
+	 * Gets the barycentric weight of the triangle's first vertex at the hit point.
+	 * 
+	 * @return the W barycentric coordinate, equal to {@code 1 - u - v}
+	 */
+	public float getW() {
+		return 1.0f - this.u - this.v;
+	}
+
+	/**
+	 * Gets the distance from the ray origin to the hit point, measured in units of the ray direction length.
+	 * 
+	 * @return the hit distance
+	 */
+	public float getDistance() {
+		return this.distance;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlRayHit [triangle=%s, u=%s, v=%s, distance=%s]", this.triangle, this.u, this.v, this.distance);
+	}
+
+}
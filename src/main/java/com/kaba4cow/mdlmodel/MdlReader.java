@@ -0,0 +1,99 @@
+package com.kaba4cow.mdlmodel;
+
+import java.io.IOException;
+
+import com.kaba4cow.binprocessor.io.BinaryReader;
+
+/**
+ * Reads {@code MDL} model data from a {@link BinaryReader} while computing a 64-bit content hash of every value read. The hash
+ * is accumulated per section and reset by {@link #endSection()}, so section hashes are produced in the same pass as parsing.
+ */
+class MdlReader {
+
+	private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+	private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long PRIME_3 = 0x165667B19E3779F9L;
+
+	private final BinaryReader reader;
+
+	private long hash;
+	private long length;
+
+	MdlReader(BinaryReader reader) {
+		this.reader = reader;
+		this.hash = PRIME_3;
+		this.length = 0L;
+	}
+
+	private void update(long value) {
+		this.hash = Long.rotateLeft(this.hash ^ Long.rotateLeft(value * PRIME_2, 31) * PRIME_1, 27) * PRIME_1 + PRIME_3;
+		this.length++;
+	}
+
+	long endSection() {
+		long result = this.hash ^ this.length;
+		result ^= result >>> 33;
+		result *= 0xFF51AFD7ED558CCDL;
+		result ^= result >>> 33;
+		result *= 0xC4CEB9FE1A85EC53L;
+		result ^= result >>> 33;
+		this.hash = PRIME_3;
+		this.length = 0L;
+		return result;
+	}
+
+	byte readByte() throws IOException {
+		byte value = this.reader.readByte();
+		update(value & 0xFF);
+		return value;
+	}
+
+	int readInt() throws IOException {
+		int value = this.reader.readInt();
+		update(value & 0xFFFFFFFFL);
+		return value;
+	}
+
+	float readFloat() throws IOException {
+		float value = this.reader.readFloat();
+		update(Float.floatToRawIntBits(value) & 0xFFFFFFFFL);
+		return value;
+	}
+
+	String readStringFixed(int length) throws IOException {
+		String value = this.reader.readStringFixed(length);
+		for (int i = 0; i < value.length(); i++)
+			update(value.charAt(i));
+		return value;
+	}
+
+	byte[] readByteArray(int length) throws IOException {
+		byte[] array = this.reader.readByteArray(length);
+		int i = 0;
+		for (; i + 8 <= length; i += 8)
+			update((array[i] & 0xFFL) | (array[i + 1] & 0xFFL) << 8 | (array[i + 2] & 0xFFL) << 16 | (array[i + 3] & 0xFFL) << 24
+					| (array[i + 4] & 0xFFL) << 32 | (array[i + 5] & 0xFFL) << 40 | (array[i + 6] & 0xFFL) << 48
+					| (array[i + 7] & 0xFFL) << 56);
+		for (; i < length; i++)
+			update(array[i] & 0xFF);
+		return array;
+	}
+
+	int[] readIntArray(int length) throws IOException {
+		int[] array = this.reader.readIntArray(length);
+		int i = 0;
+		for (; i + 2 <= length; i += 2)
+			update((array[i] & 0xFFFFFFFFL) | (long) array[i + 1] << 32);
+		for (; i < length; i++)
+			update(array[i] & 0xFFFFFFFFL);
+		return array;
+	}
+
+	float[] readFloatArray(int length) throws IOException {
+		float[] array = this.reader.readFloatArray(length);
+		for (float value : array)
+			update(Float.floatToRawIntBits(value) & 0xFFFFFFFFL);
+		return array;
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.kaba4cow.mdlmodel;
+
+/**
+ * Enumerates the sections of an {@code MDL} model file that are hashed separately by {@link MdlHash}.
+ */
+public enum MdlSection {
+
+	/**
+	 * The file header, including scale, translation, bounding radius, eye position, element counts, sync type, flags and
+	 * size.
+	 */
+	HEADER,
+
+	/**
+	 * All texture groups.
+	 */
+	SKINS,
+
+	/**
+	 * The texture coordinates of all vertices.
+	 */
+	TEXTURE_COORDS,
+
+	/**
+	 * All triangles.
+	 */
+	TRIANGLES,
+
+	/**
+	 * All frame groups.
+	 */
+	FRAME_GROUPS;
+
+}
@@ -0,0 +1,60 @@
+package com.kaba4cow.mdlmodel;
+
+/**
+ * Represents a named animation sequence in an {@code MDL} model. A sequence is a run of consecutive frames whose names share
+ * the same prefix followed by a frame number, such as {@code run1} through {@code run8}.
+ */
+public class MdlSequence {
+
+	private final String name;
+	private final int first;
+	private final int count;
+
+	MdlSequence(String name, int first, int count) {
+		this.name = name;
+		this.first = first;
+		this.count = count;
+	}
+
+	/**
+	 * Gets the name of this sequence, which is the shared frame name prefix without the frame number.
+	 * 
+	 * @return the sequence name as a {@link String}
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Gets the index of the first frame of this sequence in the {@link MdlFrameIndex}.
+	 * 
+	 * @return the first frame index
+	 */
+	public int getFirst() {
+		return this.first;
+	}
+
+	/**
+	 * Gets the number of frames in this sequence.
+	 * 
+	 * @return the number of frames
+	 */
+	public int getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Gets the index of the frame past the last frame of this sequence in the {@link MdlFrameIndex}.
+	 * 
+	 * @return the exclusive end frame index
+	 */
+	public int getEnd() {
+		return this.first + this.count;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MdlSequence [name=%s, first=%s, count=%s]", this.name, this.first, this.count);
+	}
+
+}
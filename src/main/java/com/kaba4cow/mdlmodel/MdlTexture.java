@@ -3,8 +3,6 @@ package com.kaba4cow.mdlmodel;
 import java.io.IOException;
 import java.util.Arrays;
 
-import com.kaba4cow.binprocessor.io.BinaryReader;
-
 /**
  * Represents a texture in an {@code MDL} model. The texture is stored as an indexed image with a specific width and height,
  * where each pixel is represented by an index into a color palette.
@@ -15,10 +13,13 @@ public class MdlTexture {
 	private final int height;
 	private final byte[] indices;
 
-	MdlTexture(int width, int height, BinaryReader reader) throws IOException {
+	private volatile MdlMipChain mipChain;
+
+	MdlTexture(int width, int height, MdlReader reader, MdlInterner interner) throws IOException {
+		byte[] indices = reader.readByteArray(width * height);
 		this.width = width;
 		this.height = height;
-		this.indices = reader.readByteArray(width * height);
+		this.indices = interner == null ? indices : interner.internIndices(indices);
 	}
 
 	/**
@@ -48,6 +49,19 @@ public class MdlTexture {
 		return this.indices;
 	}
 
+	/**
+	 * Gets the mipmap chain of the texture generated by {@link MdlMipmapper#generate(MdlModel)}.
+	 * 
+	 * @return the {@link MdlMipChain}, or {@code null} if no chain has been generated
+	 */
+	public MdlMipChain getMipChain() {
+		return this.mipChain;
+	}
+
+	void setMipChain(MdlMipChain mipChain) {
+		this.mipChain = mipChain;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("MdlTexture [width=%s, height=%s, indices=%s]", this.width, this.height, Arrays.toString(this.indices));
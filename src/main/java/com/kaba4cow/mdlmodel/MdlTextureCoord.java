@@ -1,23 +1,26 @@
 package com.kaba4cow.mdlmodel;
 
-import java.io.IOException;
-
-import com.kaba4cow.binprocessor.io.BinaryReader;
-
 /**
  * Represents texture coordinates for a vertex in an {@code MDL} model. Contains S and T coordinates for UV mapping and a seam
  * flag.
  */
 public class MdlTextureCoord {
 
-	private final boolean seam;
+	private final int seam;
 	private final int s;
 	private final int t;
 
-	MdlTextureCoord(BinaryReader reader) throws IOException {
-		this.seam = reader.readInt() != 0;
-		this.s = reader.readInt();
-		this.t = reader.readInt();
+	MdlTextureCoord(int[] packed, int offset) {
+		this.seam = packed[offset + 0];
+		this.s = packed[offset + 1];
+		this.t = packed[offset + 2];
+	}
+
+	static MdlTextureCoord[] decode(int[] packed) {
+		MdlTextureCoord[] textureCoords = new MdlTextureCoord[packed.length / 3];
+		for (int i = 0; i < textureCoords.length; i++)
+			textureCoords[i] = new MdlTextureCoord(packed, 3 * i);
+		return textureCoords;
 	}
 
 	/**
@@ -26,6 +29,10 @@ public class MdlTextureCoord {
 	 * @return {@code true} if this coordinate is on a seam, {@code false} otherwise
 	 */
 	public boolean isSeam() {
+		return this.seam != 0;
+	}
+
+	int getSeamFlag() {
 		return this.seam;
 	}
 
@@ -49,7 +56,7 @@ public class MdlTextureCoord {
 
 	@Override
 	public String toString() {
-		return String.format("MdlTextureCoord [seam=%s, s=%s, t=%s]", this.seam, this.s, this.t);
+		return String.format("MdlTextureCoord [seam=%s, s=%s, t=%s]", isSeam(), this.s, this.t);
 	}
 
 }
@@ -3,27 +3,27 @@ package com.kaba4cow.mdlmodel;
 import java.io.IOException;
 import java.util.Arrays;
 
-import com.kaba4cow.binprocessor.io.BinaryReader;
-
 /**
  * Represents a group of textures in an {@code MDL} model. A texture group can either be a single texture or multiple textures
  * with associated timing information for animated textures.
  */
 public class MdlTextureGroup {
 
+	private final int type;
 	private final MdlTexture[] textures;
 	private final float[] times;
 
-	MdlTextureGroup(int width, int height, BinaryReader reader) throws IOException {
-		if (reader.readInt() == 0) {
-			this.textures = new MdlTexture[] { new MdlTexture(width, height, reader) };
+	MdlTextureGroup(int width, int height, MdlReader reader, MdlInterner interner) throws IOException {
+		this.type = reader.readInt();
+		if (this.type == 0) {
+			this.textures = new MdlTexture[] { new MdlTexture(width, height, reader, interner) };
 			this.times = new float[] { 0.0f };
 		} else {
 			int numTextures = reader.readInt();
 			this.textures = new MdlTexture[numTextures];
 			this.times = reader.readFloatArray(numTextures);
 			for (int i = 0; i < numTextures; i++)
-				this.textures[i] = new MdlTexture(width, height, reader);
+				this.textures[i] = new MdlTexture(width, height, reader, interner);
 		}
 	}
 
@@ -45,6 +45,10 @@ public class MdlTextureGroup {
 		return this.times;
 	}
 
+	int getType() {
+		return this.type;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("MdlTextureGroup [textures=%s, times=%s]", Arrays.toString(this.textures), Arrays.toString(this.times));
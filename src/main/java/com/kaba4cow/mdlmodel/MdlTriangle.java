@@ -1,21 +1,30 @@
 package com.kaba4cow.mdlmodel;
 
-import java.io.IOException;
 import java.util.Arrays;
 
-import com.kaba4cow.binprocessor.io.BinaryReader;
-
 /**
  * Represents a triangle in an {@code MDL} model. Each triangle consists of three vertex indices and a front-facing flag.
  */
 public class MdlTriangle {
 
-	private final boolean front;
+	private final int front;
 	private final int[] vertices;
 
-	MdlTriangle(BinaryReader reader) throws IOException {
-		this.front = reader.readInt() != 0;
-		this.vertices = reader.readIntArray(3);
+	MdlTriangle(int[] packed, int offset) {
+		this.front = packed[offset];
+		this.vertices = Arrays.copyOfRange(packed, offset + 1, offset + 4);
+	}
+
+	MdlTriangle(boolean front, int[] vertices) {
+		this.front = front ? 1 : 0;
+		this.vertices = vertices;
+	}
+
+	static MdlTriangle[] decode(int[] packed) {
+		MdlTriangle[] triangles = new MdlTriangle[packed.length / 4];
+		for (int i = 0; i < triangles.length; i++)
+			triangles[i] = new MdlTriangle(packed, 4 * i);
+		return triangles;
 	}
 
 	/**
@@ -24,6 +33,10 @@ public class MdlTriangle {
 	 * @return {@code true} if the triangle is front-facing, {@code false} otherwise
 	 */
 	public boolean isFront() {
+		return this.front != 0;
+	}
+
+	int getFrontFlag() {
 		return this.front;
 	}
 
@@ -38,7 +51,7 @@ public class MdlTriangle {
 
 	@Override
 	public String toString() {
-		return String.format("MdlTriangle [front=%s, vertices=%s]", this.front, Arrays.toString(this.vertices));
+		return String.format("MdlTriangle [front=%s, vertices=%s]", isFront(), Arrays.toString(this.vertices));
 	}
 
 }
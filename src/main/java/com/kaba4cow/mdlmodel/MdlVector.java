@@ -2,8 +2,6 @@ package com.kaba4cow.mdlmodel;
 
 import java.io.IOException;
 
-import com.kaba4cow.binprocessor.io.BinaryReader;
-
 /**
  * Represents a 3D vector in an {@code MDL} model. This class is used for storing coordinates and directions in 3D space using
  * floating-point precision.
@@ -14,7 +12,7 @@ public class MdlVector {
 	private final float y;
 	private final float z;
 
-	MdlVector(BinaryReader reader) throws IOException {
+	MdlVector(MdlReader reader) throws IOException {
 		this.x = reader.readFloat();
 		this.y = reader.readFloat();
 		this.z = reader.readFloat();
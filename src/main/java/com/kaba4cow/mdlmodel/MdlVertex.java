@@ -2,8 +2,6 @@ package com.kaba4cow.mdlmodel;
 
 import java.io.IOException;
 
-import com.kaba4cow.binprocessor.io.BinaryReader;
-
 /**
  * Represents a vertex in an {@code MDL} model. Each vertex contains integer coordinates and a normal vector index. The
  * coordinates are stored as unsigned bytes (0-255).
@@ -15,13 +13,27 @@ public class MdlVertex {
 	private final int z;
 	private final int normal;
 
-	MdlVertex(BinaryReader reader) throws IOException {
+	MdlVertex(MdlReader reader) throws IOException {
 		this.x = reader.readByte() & 0xFF;
 		this.y = reader.readByte() & 0xFF;
 		this.z = reader.readByte() & 0xFF;
 		this.normal = reader.readByte() & 0xFF;
 	}
 
+	MdlVertex(byte[] packed, int offset) {
+		this.x = packed[offset + 0] & 0xFF;
+		this.y = packed[offset + 1] & 0xFF;
+		this.z = packed[offset + 2] & 0xFF;
+		this.normal = packed[offset + 3] & 0xFF;
+	}
+
+	static MdlVertex[] decode(byte[] packed) {
+		MdlVertex[] vertices = new MdlVertex[packed.length / 4];
+		for (int i = 0; i < vertices.length; i++)
+			vertices[i] = new MdlVertex(packed, 4 * i);
+		return vertices;
+	}
+
 	/**
 	 * Gets the X coordinate of the vertex.
 	 * 
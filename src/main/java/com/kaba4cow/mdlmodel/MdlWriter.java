@@ -0,0 +1,307 @@
+package com.kaba4cow.mdlmodel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes {@code MDL} models in the {@code IDPO} version {@code 6} format. The whole file is assembled in a single little-endian
+ * buffer and written at once. With no optimization passes enabled, a model is written back exactly as it was read. The
+ * optional passes remove vertices not referenced by any triangle, merge consecutive identical frames of frame groups, strip
+ * texture and frame groups that are not used, and recompute frame and frame group bounds.
+ */
+public class MdlWriter {
+
+	private static final int HEADER_SIZE = 84;
+
+	private boolean removeUnusedVertices;
+	private boolean mergeDuplicateFrames;
+	private boolean recomputeBounds;
+	private int[] textureGroups;
+	private int[] frameGroups;
+
+	/**
+	 * Constructs a new {@code MdlWriter} with all optimization passes disabled.
+	 */
+	public MdlWriter() {
+		this.removeUnusedVertices = false;
+		this.mergeDuplicateFrames = false;
+		this.recomputeBounds = false;
+		this.textureGroups = null;
+		this.frameGroups = null;
+	}
+
+	/**
+	 * Sets whether vertices that are not referenced by any triangle should be removed.
+	 * 
+	 * @param removeUnusedVertices {@code true} to remove unreferenced vertices
+	 */
+	public void setRemoveUnusedVertices(boolean removeUnusedVertices) {
+		this.removeUnusedVertices = removeUnusedVertices;
+	}
+
+	/**
+	 * Sets whether consecutive identical frames within a frame group should be merged into one frame. The merged frame keeps
+	 * the timing of the last frame it replaces, so the animation plays back unchanged. Single-frame groups are never merged,
+	 * because engines address them by index.
+	 * 
+	 * @param mergeDuplicateFrames {@code true} to merge duplicate frames
+	 */
+	public void setMergeDuplicateFrames(boolean mergeDuplicateFrames) {
+		this.mergeDuplicateFrames = mergeDuplicateFrames;
+	}
+
+	/**
+	 * Sets whether the bounds of frames and frame groups should be recomputed from the written vertices.
+	 * 
+	 * @param recomputeBounds {@code true} to recompute bounds
+	 */
+	public void setRecomputeBounds(boolean recomputeBounds) {
+		this.recomputeBounds = recomputeBounds;
+	}
+
+	/**
+	 * Sets the texture groups to write. All other texture groups are stripped. At least one texture group must be kept, since
+	 * stock engines refuse to load models without skins.
+	 * 
+	 * @param textureGroups the indices of the texture groups in use, or {@code null} to write all texture groups
+	 * 
+	 * @throws IllegalArgumentException if no texture group is selected
+	 */
+	public void setTextureGroups(int... textureGroups) {
+		if (textureGroups != null && textureGroups.length == 0)
+			throw new IllegalArgumentException("At least one texture group must be selected");
+		this.textureGroups = textureGroups;
+	}
+
+	/**
+	 * Sets the frame groups to write. All other frame groups are stripped. At least one frame group must be kept, since stock
+	 * engines refuse to load models without frames. Stripping a frame group renumbers every later frame group, which breaks
+	 * frame indices compiled into game code, such as QuakeC {@code $frame} macros.
+	 * 
+	 * @param frameGroups the indices of the frame groups in use, or {@code null} to write all frame groups
+	 * 
+	 * @throws IllegalArgumentException if no frame group is selected
+	 */
+	public void setFrameGroups(int... frameGroups) {
+		if (frameGroups != null && frameGroups.length == 0)
+			throw new IllegalArgumentException("At least one frame group must be selected");
+		this.frameGroups = frameGroups;
+	}
+
+	/**
+	 * Writes a model to an output stream.
+	 * 
+	 * @param model  the {@link MdlModel} to write
+	 * @param output the {@link OutputStream} to write to
+	 * 
+	 * @throws IOException              if an I/O error occurs
+	 * @throws IllegalArgumentException if a selected texture or frame group does not exist
+	 */
+	public void write(MdlModel model, OutputStream output) throws IOException {
+		output.write(write(model));
+		output.flush();
+	}
+
+	/**
+	 * Writes a model to a byte array.
+	 * 
+	 * @param model the {@link MdlModel} to write
+	 * 
+	 * @return a byte array containing the model file
+	 * 
+	 * @throws IllegalArgumentException if a selected texture or frame group does not exist
+	 */
+	public byte[] write(MdlModel model) {
+		int[] vertices = selectVertices(model);
+		int[] textureGroups = select(this.textureGroups, model.getNumTextureGroups(), "texture group");
+		int[] frameGroups = select(this.frameGroups, model.getNumFrameGroups(), "frame group");
+		List<int[]> frames = new ArrayList<>();
+		for (int frameGroup : frameGroups)
+			frames.add(selectFrames(model.getFrameGroups()[frameGroup], vertices));
+
+		int textureSize = model.getTextureWidth() * model.getTextureHeight();
+		int frameSize = 24 + 4 * vertices.length;
+		int size = HEADER_SIZE + 12 * vertices.length + 16 * model.getNumTriangles();
+		for (int textureGroup : textureGroups) {
+			MdlTextureGroup group = model.getTextureGroups()[textureGroup];
+			int numTextures = group.getTextures().length;
+			size += group.getType() == 0 ? 4 + textureSize : 8 + numTextures * (4 + textureSize);
+		}
+		for (int i = 0; i < frameGroups.length; i++) {
+			MdlFrameGroup group = model.getFrameGroups()[frameGroups[i]];
+			size += group.getType() == 0 ? 4 + frameSize : 16 + frames.get(i).length * (4 + frameSize);
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.put("IDPO".getBytes(StandardCharsets.US_ASCII));
+		buffer.putInt(6);
+		putVector(buffer, model.getScale());
+		putVector(buffer, model.getTranslation());
+		buffer.putFloat(model.getBoundingRadius());
+		putVector(buffer, model.getEyePosition());
+		buffer.putInt(textureGroups.length);
+		buffer.putInt(model.getTextureWidth());
+		buffer.putInt(model.getTextureHeight());
+		buffer.putInt(vertices.length);
+		buffer.putInt(model.getNumTriangles());
+		buffer.putInt(frameGroups.length);
+		buffer.putInt(model.getSyncType());
+		buffer.putInt(model.getFlags());
+		buffer.putFloat(model.getSize());
+
+		for (int textureGroup : textureGroups) {
+			MdlTextureGroup group = model.getTextureGroups()[textureGroup];
+			buffer.putInt(group.getType());
+			if (group.getType() != 0) {
+				buffer.putInt(group.getTextures().length);
+				for (float time : group.getTimes())
+					buffer.putFloat(time);
+			}
+			for (MdlTexture texture : group.getTextures())
+				buffer.put(texture.getIndices());
+		}
+
+		MdlTextureCoord[] textureCoords = model.getTextureCoords();
+		for (int vertex : vertices) {
+			buffer.putInt(textureCoords[vertex].getSeamFlag());
+			buffer.putInt(textureCoords[vertex].getS());
+			buffer.putInt(textureCoords[vertex].getT());
+		}
+
+		int[] remap = new int[model.getNumVertices()];
+		for (int i = 0; i < vertices.length; i++)
+			remap[vertices[i]] = i;
+		for (MdlTriangle triangle : model.getTriangles()) {
+			buffer.putInt(triangle.getFrontFlag());
+			for (int vertex : triangle.getVertices())
+				buffer.putInt(remap[vertex]);
+		}
+
+		for (int i = 0; i < frameGroups.length; i++) {
+			MdlFrameGroup group = model.getFrameGroups()[frameGroups[i]];
+			buffer.putInt(group.getType());
+			if (group.getType() == 0) {
+				putFrame(buffer, group.getFrames()[0], vertices);
+				continue;
+			}
+			int[] selected = frames.get(i);
+			buffer.putInt(selected.length);
+			if (this.recomputeBounds) {
+				int[] bounds = { 255, 255, 255, 0, 0, 0 };
+				for (int frame : selected)
+					computeBounds(group.getFrames()[frame].getVertices(), vertices, bounds);
+				putBounds(buffer, bounds, group.getMin(), group.getMax());
+			} else {
+				putVertex(buffer, group.getMin());
+				putVertex(buffer, group.getMax());
+			}
+			for (int frame : selected)
+				buffer.putFloat(group.getTimes()[frame]);
+			for (int frame : selected)
+				putFrame(buffer, group.getFrames()[frame], vertices);
+		}
+		return buffer.array();
+	}
+
+	private int[] selectVertices(MdlModel model) {
+		boolean[] used = new boolean[model.getNumVertices()];
+		int count = 0;
+		for (MdlTriangle triangle : model.getTriangles())
+			for (int vertex : triangle.getVertices())
+				if (!used[vertex]) {
+					used[vertex] = true;
+					count++;
+				}
+		if (!this.removeUnusedVertices)
+			return select(null, model.getNumVertices(), "vertex");
+		int[] vertices = new int[count];
+		count = 0;
+		for (int i = 0; i < used.length; i++)
+			if (used[i])
+				vertices[count++] = i;
+		return vertices;
+	}
+
+	private static int[] select(int[] indices, int count, String type) {
+		if (indices == null) {
+			indices = new int[count];
+			for (int i = 0; i < count; i++)
+				indices[i] = i;
+		}
+		for (int index : indices)
+			if (index < 0 || index >= count)
+				throw new IllegalArgumentException(String.format("Unknown %s: %s", type, index));
+		return indices;
+	}
+
+	private int[] selectFrames(MdlFrameGroup group, int[] vertices) {
+		MdlFrame[] frames = group.getFrames();
+		int[] selected = new int[frames.length];
+		int count = 0;
+		for (int i = 0; i < frames.length; i++)
+			if (group.getType() == 0 || !this.mergeDuplicateFrames || i + 1 == frames.length
+					|| !isEqual(frames[i].getVertices(), frames[i + 1].getVertices(), vertices))
+				selected[count++] = i;
+		int[] result = new int[count];
+		System.arraycopy(selected, 0, result, 0, count);
+		return result;
+	}
+
+	private static boolean isEqual(MdlVertex[] a, MdlVertex[] b, int[] vertices) {
+		if (a == b)
+			return true;
+		for (int vertex : vertices) {
+			MdlVertex u = a[vertex];
+			MdlVertex v = b[vertex];
+			if (u.getX() != v.getX() || u.getY() != v.getY() || u.getZ() != v.getZ() || u.getNormal() != v.getNormal())
+				return false;
+		}
+		return true;
+	}
+
+	private void putFrame(ByteBuffer buffer, MdlFrame frame, int[] vertices) {
+		MdlVertex[] frameVertices = frame.getVertices();
+		if (this.recomputeBounds) {
+			int[] bounds = { 255, 255, 255, 0, 0, 0 };
+			computeBounds(frameVertices, vertices, bounds);
+			putBounds(buffer, bounds, frame.getMin(), frame.getMax());
+		} else {
+			putVertex(buffer, frame.getMin());
+			putVertex(buffer, frame.getMax());
+		}
+		buffer.put(frame.getNameBytes());
+		for (int vertex : vertices)
+			putVertex(buffer, frameVertices[vertex]);
+	}
+
+	private static void computeBounds(MdlVertex[] frameVertices, int[] vertices, int[] bounds) {
+		for (int vertex : vertices) {
+			MdlVertex v = frameVertices[vertex];
+			bounds[0] = Math.min(bounds[0], v.getX());
+			bounds[1] = Math.min(bounds[1], v.getY());
+			bounds[2] = Math.min(bounds[2], v.getZ());
+			bounds[3] = Math.max(bounds[3], v.getX());
+			bounds[4] = Math.max(bounds[4], v.getY());
+			bounds[5] = Math.max(bounds[5], v.getZ());
+		}
+	}
+
+	private static void putBounds(ByteBuffer buffer, int[] bounds, MdlVertex min, MdlVertex max) {
+		buffer.put((byte) bounds[0]).put((byte) bounds[1]).put((byte) bounds[2]).put((byte) min.getNormal());
+		buffer.put((byte) bounds[3]).put((byte) bounds[4]).put((byte) bounds[5]).put((byte) max.getNormal());
+	}
+
+	private static void putVertex(ByteBuffer buffer, MdlVertex vertex) {
+		buffer.put((byte) vertex.getX()).put((byte) vertex.getY()).put((byte) vertex.getZ()).put((byte) vertex.getNormal());
+	}
+
+	private static void putVector(ByteBuffer buffer, MdlVector vector) {
+		buffer.putFloat(vector.getX()).putFloat(vector.getY()).putFloat(vector.getZ());
+	}
+
+}
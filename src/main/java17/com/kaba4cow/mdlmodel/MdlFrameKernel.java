@@ -0,0 +1,31 @@
+package com.kaba4cow.mdlmodel;
+
+/**
+ * Linearly interpolates between two contiguous ranges of frame data. When the {@code jdk.incubator.vector} module is
+ * resolvable at runtime, for example with {@code --add-modules jdk.incubator.vector}, the ranges are processed by
+ * {@link MdlVectorKernel}; otherwise the scalar loop of the base version is used. {@link MdlVectorKernel} is only loaded when
+ * the module is present, so this class links without it.
+ */
+class MdlFrameKernel {
+
+	private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+	private MdlFrameKernel() {}
+
+	static boolean isVectorized() {
+		return VECTORIZED;
+	}
+
+	static void interpolate(float[] a, int aOffset, float[] b, int bOffset, float factor, float[] output, int offset,
+			int length) {
+		if (VECTORIZED) {
+			MdlVectorKernel.interpolate(a, aOffset, b, bOffset, factor, output, offset, length);
+			return;
+		}
+		for (int i = 0; i < length; i++) {
+			float value = a[aOffset + i];
+			output[offset + i] = value + factor * (b[bOffset + i] - value);
+		}
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.kaba4cow.mdlmodel;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Linearly interpolates between two contiguous ranges of frame data with the {@code jdk.incubator.vector} API. The ranges are
+ * processed in vectors of the preferred species of the platform, and the remaining values with a scalar loop.
+ */
+class MdlVectorKernel {
+
+	private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+	private MdlVectorKernel() {}
+
+	static void interpolate(float[] a, int aOffset, float[] b, int bOffset, float factor, float[] output, int offset,
+			int length) {
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			FloatVector value = FloatVector.fromArray(SPECIES, a, aOffset + i);
+			FloatVector target = FloatVector.fromArray(SPECIES, b, bOffset + i);
+			value.add(target.sub(value).mul(factor)).intoArray(output, offset + i);
+		}
+		for (; i < length; i++) {
+			float value = a[aOffset + i];
+			output[offset + i] = value + factor * (b[bOffset + i] - value);
+		}
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.kaba4cow.mdlmodel;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class MdlWriterTest {
+
+	private static final int SKIN_WIDTH = 8;
+	private static final int SKIN_HEIGHT = 4;
+	private static final int SEAM = 0x20;
+
+	private static final int[][] TRIANGLES = { { 1, 0, 1, 2 }, { 0, 0, 2, 3 } };
+	private static final int[][] TEXTURE_COORDS = { { SEAM, 0, 0 }, { 0, 3, 0 }, { SEAM, 0, 3 }, { 0, 3, 3 }, { 0, 7, 3 } };
+
+	@Test
+	public void writesUnchangedModelByteForByte() throws IOException {
+		byte[] file = createModel();
+		MdlModel model = new MdlModel(new ByteArrayInputStream(file));
+		assertArrayEquals(file, new MdlWriter().write(model));
+	}
+
+	@Test
+	public void writesInternedModelByteForByte() throws IOException {
+		byte[] file = createModel();
+		MdlInterner interner = new MdlInterner();
+		new MdlModel(new ByteArrayInputStream(file), interner);
+		MdlModel model = new MdlModel(new ByteArrayInputStream(file), interner);
+		assertArrayEquals(file, new MdlWriter().write(model));
+	}
+
+	@Test
+	public void reloadsModelWrittenWithAllPasses() throws IOException {
+		MdlModel original = new MdlModel(new ByteArrayInputStream(createModel()));
+		MdlWriter writer = new MdlWriter();
+		writer.setRemoveUnusedVertices(true);
+		writer.setMergeDuplicateFrames(true);
+		writer.setRecomputeBounds(true);
+		writer.setTextureGroups(1);
+		writer.setFrameGroups(1);
+		MdlModel model = new MdlModel(new ByteArrayInputStream(writer.write(original)));
+
+		assertEquals(4, model.getNumVertices());
+		assertEquals(2, model.getNumTriangles());
+		assertEquals(1, model.getNumTextureGroups());
+		assertEquals(2, model.getTextureGroups()[0].getTextures().length);
+		assertArrayEquals(original.getTextureGroups()[1].getTextures()[1].getIndices(),
+				model.getTextureGroups()[0].getTextures()[1].getIndices());
+		assertTrue(model.getTextureCoords()[0].isSeam());
+		assertArrayEquals(new int[] { 0, 2, 3 }, model.getTriangles()[1].getVertices());
+
+		assertEquals(1, model.getNumFrameGroups());
+		MdlFrameGroup group = model.getFrameGroups()[0];
+		assertEquals(2, group.getFrames().length);
+		assertEquals("run2", group.getFrames()[0].getName());
+		assertEquals("run3", group.getFrames()[1].getName());
+		assertArrayEquals(new float[] { 0.2f, 0.3f }, group.getTimes(), 0.0f);
+		for (MdlFrame frame : group.getFrames())
+			for (MdlVertex vertex : frame.getVertices()) {
+				assertTrue(vertex.getX() >= frame.getMin().getX() && vertex.getX() <= frame.getMax().getX());
+				assertTrue(vertex.getY() >= frame.getMin().getY() && vertex.getY() <= frame.getMax().getY());
+				assertTrue(vertex.getZ() >= frame.getMin().getZ() && vertex.getZ() <= frame.getMax().getZ());
+			}
+		assertEquals(14, group.getFrames()[1].getMax().getX());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsEmptyFrameGroupSelection() {
+		new MdlWriter().setFrameGroups();
+	}
+
+	private static byte[] createModel() {
+		ByteBuffer buffer = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.put("IDPO".getBytes(StandardCharsets.US_ASCII)).putInt(6);
+		buffer.putFloat(0.5f).putFloat(0.25f).putFloat(1.0f);
+		buffer.putFloat(-8.0f).putFloat(-4.0f).putFloat(0.0f);
+		buffer.putFloat(10.0f);
+		buffer.putFloat(0.0f).putFloat(0.0f).putFloat(4.0f);
+		buffer.putInt(2).putInt(SKIN_WIDTH).putInt(SKIN_HEIGHT);
+		buffer.putInt(TEXTURE_COORDS.length).putInt(TRIANGLES.length).putInt(2);
+		buffer.putInt(1).putInt(8).putFloat(12.5f);
+
+		buffer.putInt(0);
+		putSkin(buffer, 1);
+		buffer.putInt(1).putInt(2).putFloat(0.1f).putFloat(0.2f);
+		putSkin(buffer, 2);
+		putSkin(buffer, 3);
+
+		for (int[] textureCoord : TEXTURE_COORDS)
+			for (int value : textureCoord)
+				buffer.putInt(value);
+		for (int[] triangle : TRIANGLES)
+			for (int value : triangle)
+				buffer.putInt(value);
+
+		buffer.putInt(0);
+		putFrame(buffer, "base\0\u0001stale", 0);
+		buffer.putInt(1).putInt(3);
+		buffer.put(new byte[] { 1, 2, 3, 0, 12, 13, 14, 0 });
+		buffer.putFloat(0.1f).putFloat(0.2f).putFloat(0.3f);
+		putFrame(buffer, "run1\0\u007fjunk", 1);
+		putFrame(buffer, "run2\0\u00ffjunk", 1);
+		putFrame(buffer, "run3", 2);
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+
+	private static void putSkin(ByteBuffer buffer, int seed) {
+		for (int i = 0; i < SKIN_WIDTH * SKIN_HEIGHT; i++)
+			buffer.put((byte) (seed * 31 + i));
+	}
+
+	private static void putFrame(ByteBuffer buffer, String name, int offset) {
+		buffer.put(new byte[] { 0, 0, 0, 7, (byte) 200, (byte) 200, (byte) 200, 9 });
+		byte[] nameBytes = Arrays.copyOf(name.getBytes(StandardCharsets.ISO_8859_1), 16);
+		buffer.put(nameBytes);
+		for (int i = 0; i < TEXTURE_COORDS.length; i++)
+			buffer.put((byte) (i * 2 + offset * (i + 1))).put((byte) (i + 1)).put((byte) (3 * i)).put((byte) (i * 17 % 162));
+	}
+
+}